@@ -26,6 +26,8 @@ package com.github.weisj.darklaf;
 import com.github.weisj.darklaf.components.border.DarkBorders;
 import com.github.weisj.darklaf.platform.windows.JNIDecorations;
 import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.ui.html.DarkHTML;
+import com.github.weisj.darklaf.ui.popupmenu.DarkPopupFactory;
 import com.github.weisj.darklaf.ui.popupmenu.DarkPopupMenuUI;
 import com.github.weisj.darklaf.util.PropertyLoader;
 import com.github.weisj.darklaf.util.SystemInfo;
@@ -180,9 +182,11 @@ public class DarkLaf extends BasicLookAndFeel implements PropertyChangeListener
         currentTheme.loadIconProperties(uiProps, defaults);
         currentTheme.loadPlatformProperties(uiProps, defaults);
         defaults.putAll(uiProps);
+        DarkBorders.update(defaults);
 
         StyleSheet styleSheet = currentTheme.loadStyleSheet();
         new HTMLEditorKit().setStyleSheet(styleSheet);
+        DarkHTML.clearViewCache();
         setDecorationsEnabled(currentTheme.useCustomDecorations());
     }
 
@@ -299,6 +303,7 @@ public class DarkLaf extends BasicLookAndFeel implements PropertyChangeListener
     @Override
     public void initialize() {
         call("initialize");
+        DarkPopupFactory.install();
         PropertyLoader.reset();
         UIManager.addPropertyChangeListener(this);
     }
@@ -306,6 +311,8 @@ public class DarkLaf extends BasicLookAndFeel implements PropertyChangeListener
     @Override
     public void uninitialize() {
         call("uninitialize");
+        DarkPopupFactory.uninstall();
+        DarkHTML.clearViewCache();
         AppContext context = AppContext.getAppContext();
         UIManager.removePropertyChangeListener(this);
         synchronized (DarkPopupMenuUI.MOUSE_GRABBER_KEY) {
@@ -381,7 +388,6 @@ public class DarkLaf extends BasicLookAndFeel implements PropertyChangeListener
             }
             UIManager.removePropertyChangeListener(this);
         }
-        DarkBorders.update();
     }
 
 
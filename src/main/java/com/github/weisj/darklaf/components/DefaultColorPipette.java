@@ -43,6 +43,8 @@ public class DefaultColorPipette extends ColorPipetteBase {
     private static final int DIALOG_SIZE = 50;
     private static final int MOUSE_OFF_X = 7;
     private static final int MOUSE_OFF_Y = -7;
+    private static final int MIN_POLL_DELAY = 16;
+    private static final int MAX_POLL_DELAY = 250;
 
     private final Rectangle captureRect = new Rectangle();
     private final Point previousLocation = new Point();
@@ -50,10 +52,12 @@ public class DefaultColorPipette extends ColorPipetteBase {
     protected Color borderColor;
     private Graphics2D zoomGraphics;
     private BufferedImage zoomImage;
+    private boolean pipetteChanged;
+    private Boolean available;
 
     public DefaultColorPipette(final JComponent parent, final ColorListener colorListener) {
         super(parent, colorListener);
-        timer = TimerUtil.createNamedTimer("DefaultColorPipette", 5, e -> updatePipette());
+        timer = TimerUtil.createNamedTimer("DefaultColorPipette", MIN_POLL_DELAY, e -> pollPipette());
         borderColor = UIManager.getColor("ColorChooser.pipetteBorderColor");
     }
 
@@ -61,6 +65,33 @@ public class DefaultColorPipette extends ColorPipetteBase {
         updatePipette(false);
     }
 
+    /*
+     * Mouse movement outside of the application windows can only be detected by polling. If nothing changes the
+     * polling interval is doubled until MAX_POLL_DELAY is reached.
+     */
+    private void pollPipette() {
+        updatePipette(false);
+        int delay = pipetteChanged ? MIN_POLL_DELAY : Math.min(2 * timer.getDelay(), MAX_POLL_DELAY);
+        if (delay != timer.getDelay()) {
+            timer.setDelay(delay);
+        }
+    }
+
+    @Override
+    public void eventDispatched(final AWTEvent event) {
+        super.eventDispatched(event);
+        int id = event.getID();
+        if (id == MouseEvent.MOUSE_MOVED || id == MouseEvent.MOUSE_DRAGGED) {
+            Window pickerWindow = getPickerWindow();
+            if (pickerWindow == null || !pickerWindow.isVisible()) return;
+            updatePipette();
+            // The mouse is inside the application. Polling isn't necessary as long as motion events arrive.
+            timer.setDelay(MIN_POLL_DELAY);
+            timer.setInitialDelay(MIN_POLL_DELAY);
+            timer.restart();
+        }
+    }
+
     @Override
     protected Color getPixelColor(final Point location) {
         return super.getPixelColor(getHotSPot(location));
@@ -69,6 +100,7 @@ public class DefaultColorPipette extends ColorPipetteBase {
     @Override
     public Window show() {
         Window picker = super.show();
+        timer.setDelay(MIN_POLL_DELAY);
         timer.start();
         return picker;
     }
@@ -91,12 +123,6 @@ public class DefaultColorPipette extends ColorPipetteBase {
                     updatePipette();
                 }
             });
-            pickerWindow.addMouseMotionListener(new MouseAdapter() {
-                @Override
-                public void mouseMoved(final MouseEvent e) {
-                    updatePipette();
-                }
-            });
             pickerWindow.addFocusListener(new FocusAdapter() {
                 @Override
                 public void focusLost(final FocusEvent e) {
@@ -131,20 +157,30 @@ public class DefaultColorPipette extends ColorPipetteBase {
     protected void updatePipette(final boolean force) {
         Window pickerWindow = getPickerWindow();
         if (pickerWindow != null && pickerWindow.isShowing()) {
+            pipetteChanged = false;
             Point mouseLoc = updateLocation();
             if (mouseLoc == null) return;
-            final Color c = getPixelColor(mouseLoc);
-            if (!c.equals(getColor()) || !mouseLoc.equals(previousLocation) || force) {
+            Point hotSpot = getHotSPot(mouseLoc);
+            BufferedImage capture = null;
+            Color c;
+            if (isKeyDown() && getPressedKeyCode() == KeyEvent.VK_SHIFT) {
+                Point p = pickerWindow.getLocationOnScreen();
+                p.y += pickerWindow.getHeight() - 2;
+                p.x += 2;
+                captureRect.setBounds(p.x - 9, p.y - 9, 18, 18);
+                // A single capture serves both the zoom lens and the sampled pixel.
+                capture = robot.createScreenCapture(captureRect);
+            }
+            if (capture != null && captureRect.contains(hotSpot)) {
+                c = new Color(capture.getRGB(hotSpot.x - captureRect.x, hotSpot.y - captureRect.y));
+            } else {
+                c = robot.getPixelColor(hotSpot.x, hotSpot.y);
+            }
+            if (!c.equals(getColor()) || !hotSpot.equals(previousLocation) || force) {
+                pipetteChanged = true;
                 setColor(c);
-                previousLocation.setLocation(mouseLoc);
-
-                if (isKeyDown() && getPressedKeyCode() == KeyEvent.VK_SHIFT) {
-                    Point p = pickerWindow.getLocationOnScreen();
-                    p.y += pickerWindow.getHeight() - 2;
-                    p.x += 2;
-                    captureRect.setBounds(p.x - 9, p.y - 9, 18, 18);
-
-                    BufferedImage capture = robot.createScreenCapture(captureRect);
+                previousLocation.setLocation(hotSpot);
+                if (capture != null) {
                     zoomGraphics.drawImage(capture, 0, 0, zoomImage.getWidth(), zoomImage.getHeight(), this);
                 }
                 pickerWindow.repaint();
@@ -171,11 +207,16 @@ public class DefaultColorPipette extends ColorPipetteBase {
 
     @Override
     public boolean isAvailable() {
-        if (robot != null) {
-            robot.createScreenCapture(new Rectangle(0, 0, 1, 1));
-            return true;
+        if (available == null) {
+            // Probe once whether the screen may be read.
+            if (robot != null) {
+                robot.createScreenCapture(new Rectangle(0, 0, 1, 1));
+                available = Boolean.TRUE;
+            } else {
+                available = Boolean.FALSE;
+            }
         }
-        return false;
+        return available;
     }
 
     protected Icon getPipetteIcon() {
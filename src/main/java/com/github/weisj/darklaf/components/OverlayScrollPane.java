@@ -31,6 +31,10 @@ import java.awt.*;
 
 /**
  * Scroll pane that displays its content beneath the scrollbar.
+ * <p>
+ * By default the scrollbars are components overlapping the viewport. This prevents the viewport from scrolling by
+ * copying the already painted content, which makes scrolling of large views slow. In decoration mode the scrollbars
+ * are painted by the viewport after the view, which keeps {@link JViewport#BLIT_SCROLL_MODE} effective.
  *
  * @author Jannis Weis
  */
@@ -94,6 +98,31 @@ public class OverlayScrollPane extends JLayeredPane {
         return scrollPane;
     }
 
+    /**
+     * Sets whether the scrollbars are painted as a decoration of the viewport instead of as components overlapping
+     * it. The scrollbars still receive mouse events as usual.
+     *
+     * @param decorationMode true if the scrollbars should be painted as a decoration.
+     */
+    public void setDecorationMode(final boolean decorationMode) {
+        if (scrollPane.decorationMode == decorationMode) return;
+        scrollPane.decorationMode = decorationMode;
+        repaint();
+    }
+
+    public boolean isDecorationMode() {
+        return scrollPane.decorationMode;
+    }
+
+    /*
+     * The viewport can only blit if it isn't overlapped by a sibling. In decoration mode the control panel
+     * doesn't paint anything.
+     */
+    @Override
+    public boolean isOptimizedDrawingEnabled() {
+        return scrollPane.decorationMode || super.isOptimizedDrawingEnabled();
+    }
+
     @Override
     public void doLayout() {
         scrollPane.setSize(getSize());
@@ -151,6 +180,7 @@ public class OverlayScrollPane extends JLayeredPane {
     protected static class OScrollPane extends JScrollPane {
         private JScrollBar verticalScrollBar;
         private JScrollBar horizontalScrollBar;
+        private boolean decorationMode;
 
         protected OScrollPane(final JComponent view, final int vsbPolicy, final int hsbPolicy) {
             super(view, vsbPolicy, hsbPolicy);
@@ -212,6 +242,11 @@ public class OverlayScrollPane extends JLayeredPane {
             });
         }
 
+        @Override
+        protected JViewport createViewport() {
+            return new OViewport();
+        }
+
         /*
          * Ensure the correct background.
          */
@@ -242,6 +277,72 @@ public class OverlayScrollPane extends JLayeredPane {
         public JScrollBar getVerticalScrollBar() {
             return verticalScrollBar;
         }
+
+        private Rectangle getDecorationBounds(final JScrollBar scrollBar, final JViewport viewport) {
+            if (!decorationMode || scrollBar == null || !scrollBar.isVisible() || scrollBar.getParent() == null) {
+                return null;
+            }
+            return SwingUtilities.convertRectangle(scrollBar.getParent(), scrollBar.getBounds(), viewport);
+        }
+
+        protected class OViewport extends JViewport {
+
+            private static final long serialVersionUID = 1L;
+
+            /*
+             * Repaints of the view have to go through the viewport, otherwise they paint over the scrollbars.
+             */
+            @Override
+            protected boolean isPaintingOrigin() {
+                return decorationMode || super.isPaintingOrigin();
+            }
+
+            @Override
+            public void paint(final Graphics g) {
+                super.paint(g);
+                paintScrollBar(g, verticalScrollBar);
+                paintScrollBar(g, horizontalScrollBar);
+            }
+
+            private void paintScrollBar(final Graphics g, final JScrollBar scrollBar) {
+                Rectangle bounds = getDecorationBounds(scrollBar, this);
+                if (bounds == null) return;
+                Rectangle clip = g.getClipBounds();
+                if (clip != null && !clip.intersects(bounds)) return;
+                Graphics sg = g.create(bounds.x, bounds.y, bounds.width, bounds.height);
+                try {
+                    scrollBar.paint(sg);
+                } finally {
+                    sg.dispose();
+                }
+            }
+
+            @Override
+            public void setViewPosition(final Point p) {
+                Point old = getViewPosition();
+                super.setViewPosition(p);
+                if (!decorationMode || !isShowing() || getScrollMode() != BLIT_SCROLL_MODE) return;
+                int dx = p.x - old.x;
+                int dy = p.y - old.y;
+                if (dx != 0 || dy != 0) {
+                    repairScrollBar(verticalScrollBar, dx, dy);
+                    repairScrollBar(horizontalScrollBar, dx, dy);
+                }
+            }
+
+            /*
+             * Blitting moved the painted scrollbar along with the content. Repaint the area it was moved to
+             * and the area where it has to be painted.
+             */
+            private void repairScrollBar(final JScrollBar scrollBar, final int dx, final int dy) {
+                Rectangle bounds = getDecorationBounds(scrollBar, this);
+                if (bounds == null) return;
+                Rectangle dirty = bounds.union(new Rectangle(bounds.x - dx, bounds.y - dy,
+                                                             bounds.width, bounds.height));
+                dirty = dirty.intersection(new Rectangle(0, 0, getWidth(), getHeight()));
+                if (!dirty.isEmpty()) paintImmediately(dirty);
+            }
+        }
     }
 
     @Override
@@ -298,6 +399,13 @@ public class OverlayScrollPane extends JLayeredPane {
         }
 
 
+        @Override
+        public void paint(final Graphics g) {
+            if (!scrollPane.decorationMode) {
+                super.paint(g);
+            }
+        }
+
         @Override
         public boolean isOpaque() {
             return false;
@@ -23,6 +23,8 @@
  */
 package com.github.weisj.darklaf.components;
 
+import com.github.weisj.darklaf.ui.popupmenu.DarkPopupFactory;
+import com.github.weisj.darklaf.ui.popupmenu.PopupWindowPool;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
 import javax.swing.*;
@@ -113,17 +115,21 @@ public class ScrollPopupMenu extends JPopupMenu {
         Component comp = getInvoker();
         if (comp == null) return;
 
+        long start = System.nanoTime();
         while (comp.getParent() != null) {
             comp = comp.getParent();
         }
 
-        if (popWin == null || popWin.getOwner() != comp) {
-            popWin = comp instanceof Window ? new JWindow((Window) comp) : new JWindow(new JFrame());
+        Window owner = comp instanceof Window ? (Window) comp : null;
+        if (popWin == null || popWin.getOwner() != owner) {
+            PopupWindowPool.releaseWindow(popWin);
+            popWin = PopupWindowPool.getWindow(owner);
         }
         pack();
         popWin.setLocation(posX, posY);
         popWin.setVisible(true);
         requestFocus();
+        DarkPopupFactory.recordShowLatency(System.nanoTime() - start);
     }
 
     /**
@@ -178,7 +184,7 @@ public class ScrollPopupMenu extends JPopupMenu {
     protected void hidePopup() {
         if (popWin != null) {
             firePopupMenuWillBecomeInvisible();
-            popWin.setVisible(false);
+            PopupWindowPool.releaseWindow(popWin);
             popWin = null;
             firePropertyChange("visible", Boolean.TRUE, Boolean.FALSE);
             if (isPopupMenu()) {
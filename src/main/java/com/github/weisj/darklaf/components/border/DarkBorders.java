@@ -24,48 +24,117 @@
 package com.github.weisj.darklaf.components.border;
 
 import javax.swing.*;
+import javax.swing.border.AbstractBorder;
 import javax.swing.border.Border;
+import java.awt.*;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Factory for line borders using the colors of the current theme. Borders with equal insets are shared. Their color
+ * is looked up when painting, hence they don't need to be updated if the theme changes.
+ *
+ * @author Jannis Weis
+ */
 public final class DarkBorders {
 
-    private static final WeakLineBorder KEY = new WeakLineBorder(0, 0, 0, 0);
-    private static Map<WeakLineBorder, WeakLineBorder> lineBorderMap = new WeakHashMap<>();
-    private static Map<WeakLineBorder, WeakLineBorder> lineWidgetBorderMap = new WeakHashMap<>();
+    private static final int MAX_PACKED_INSET = 0xFFFF;
+    private static final Map<Long, Border> lineBorderMap = new ConcurrentHashMap<>();
+    private static final Map<Long, Border> lineWidgetBorderMap = new ConcurrentHashMap<>();
+    private static volatile Color borderColor;
+    private static volatile Color widgetBorderColor;
 
+    private DarkBorders() {
+    }
 
     public static Border createLineBorder(final int top, final int left, final int bottom, final int right) {
-        return createBorder(top, left, bottom, right, lineBorderMap, "border");
+        return createBorder(top, left, bottom, right, lineBorderMap, false);
     }
 
+    public static Border createWidgetLineBorder(final int top, final int left, final int bottom, final int right) {
+        return createBorder(top, left, bottom, right, lineWidgetBorderMap, true);
+    }
 
     private static Border createBorder(final int top, final int left, final int bottom, final int right,
-                                       final Map<WeakLineBorder, WeakLineBorder> map, final String key) {
-        WeakLineBorder border = null;
-        KEY.setInsets(top, left, bottom, right);
-        if (map.containsKey(KEY)) {
-            border = map.get(KEY);
+                                       final Map<Long, Border> map, final boolean widget) {
+        if (!isPackable(top) || !isPackable(left) || !isPackable(bottom) || !isPackable(right)) {
+            return new SharedLineBorder(top, left, bottom, right, widget);
         }
-        if (border == null) {
-            border = new WeakLineBorder(top, left, bottom, right);
-            map.put(KEY, border);
-        }
-        border.setColor(UIManager.getColor(key));
-        return border;
+        long key = ((long) top << 48) | ((long) left << 32) | ((long) bottom << 16) | right;
+        return map.computeIfAbsent(key, k -> new SharedLineBorder(top, left, bottom, right, widget));
     }
 
+    private static boolean isPackable(final int value) {
+        return value >= 0 && value <= MAX_PACKED_INSET;
+    }
 
-    public static Border createWidgetLineBorder(final int top, final int left, final int bottom, final int right) {
-        return createBorder(top, left, bottom, right, lineWidgetBorderMap, "borderSecondary");
+    /**
+     * Update the border colors from the given defaults. Called once the defaults of a theme have been loaded.
+     *
+     * @param defaults the defaults.
+     */
+    public static void update(final UIDefaults defaults) {
+        borderColor = defaults.getColor("border");
+        widgetBorderColor = defaults.getColor("borderSecondary");
     }
 
+    /**
+     * Update the border colors from the {@link UIManager}.
+     */
     public static void update() {
-        for (WeakLineBorder border : lineBorderMap.values()) {
-            border.setColor(UIManager.getColor("border"));
+        update(UIManager.getDefaults());
+    }
+
+    /*
+     * Immutable line border. The insets can't change as the border is shared between all components using them.
+     */
+    private static final class SharedLineBorder extends AbstractBorder {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int top;
+        private final int left;
+        private final int bottom;
+        private final int right;
+        private final boolean widget;
+
+        private SharedLineBorder(final int top, final int left, final int bottom, final int right,
+                                 final boolean widget) {
+            this.top = top;
+            this.left = left;
+            this.bottom = bottom;
+            this.right = right;
+            this.widget = widget;
+        }
+
+        private Color getColor() {
+            Color color = widget ? widgetBorderColor : borderColor;
+            if (color == null) {
+                update();
+                color = widget ? widgetBorderColor : borderColor;
+            }
+            return color;
         }
-        for (WeakLineBorder border : lineWidgetBorderMap.values()) {
-            border.setColor(UIManager.getColor("border"));
+
+        @Override
+        public void paintBorder(final Component c, final Graphics g, final int x, final int y,
+                                final int width, final int height) {
+            g.setColor(getColor());
+            g.fillRect(x, y, width - right, top);
+            g.fillRect(x, y + top, left, height - top);
+            g.fillRect(x + left, y + height - bottom, width - left, bottom);
+            g.fillRect(x + width - right, y, right, height - bottom);
+        }
+
+        @Override
+        public Insets getBorderInsets(final Component c, final Insets insets) {
+            insets.set(top, left, bottom, right);
+            return insets;
+        }
+
+        @Override
+        public boolean isBorderOpaque() {
+            return true;
         }
     }
 }
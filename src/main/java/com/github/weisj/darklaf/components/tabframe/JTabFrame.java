@@ -30,8 +30,10 @@ import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -51,6 +53,12 @@ public class JTabFrame extends JComponent {
     private final List<TabFrameTab>[] tabLists;
     private final List<TabFramePopup>[] popupLists;
     private final int[] selectedIndices;
+    private final Map<Component, TabFramePopup> popupIndex = new IdentityHashMap<>();
+
+    private int updateDepth;
+    private boolean layoutPending;
+    private final Component[] pendingPopups;
+    private final boolean[] pendingEnabled;
 
     private int tabSize = -1;
     private int maxTabWidth = -1;
@@ -78,6 +86,8 @@ public class JTabFrame extends JComponent {
             popupLists[i] = new ArrayList<>();
         }
         selectedIndices = new int[count];
+        pendingPopups = new Component[count];
+        pendingEnabled = new boolean[count];
         setDndEnabled(true);
     }
 
@@ -299,11 +309,37 @@ public class JTabFrame extends JComponent {
             return;
         }
         insertTabComp(tab, a, index);
-        compsForAlignment(a).add(index, c);
+        List<TabFramePopup> popups = compsForAlignment(a);
+        popups.add(index, c);
         c.setEnabled(false);
         c.setTabFrame(this);
         c.setAlignment(a);
         c.setIndex(index);
+        updatePopupIndices(popups, index + 1);
+        indexPopup(c);
+    }
+
+    /*
+     * Adjust the indices of the popups starting from the given index.
+     */
+    private void updatePopupIndices(final List<TabFramePopup> popups, final int from) {
+        for (int i = from; i < popups.size(); i++) {
+            popups.get(i).setIndex(i);
+        }
+    }
+
+    private void indexPopup(final TabFramePopup popup) {
+        Component contentPane = popup.getContentPane();
+        if (contentPane != null) {
+            popupIndex.put(contentPane, popup);
+        }
+    }
+
+    private void unindexPopup(final TabFramePopup popup) {
+        Component contentPane = popup.getContentPane();
+        if (contentPane != null && popupIndex.get(contentPane) == popup) {
+            popupIndex.remove(contentPane);
+        }
     }
 
     /*
@@ -429,6 +465,7 @@ public class JTabFrame extends JComponent {
         String text = title == null ? c.getComponent().getName() : title;
         text = text == null ? c.getTitle() : text;
         TabFrameTab tabComponent = createDefaultTab(text, icon, a, index);
+        unindexPopup(compsForAlignment(a).get(index));
         c.setTitle(text);
         c.setIcon(icon);
         c.setTabFrame(this);
@@ -438,7 +475,8 @@ public class JTabFrame extends JComponent {
         tabComponent.setSelected(getTabComponentAt(a, index).isSelected());
         setTabComponent(tabComponent, a, index);
         compsForAlignment(a).set(index, c);
-        if (tabComponent.isSelected()) {
+        indexPopup(c);
+        if (tabComponent.isSelected() && !isUpdating()) {
             getComponentAt(a, index).doLayout();
             getComponentAt(a, index).repaint();
         }
@@ -498,10 +536,21 @@ public class JTabFrame extends JComponent {
      * @return the position in the tabFrame.{@link TabFramePosition}
      */
     public TabFramePosition findComponent(final Component c) {
+        if (c == null) return null;
+        TabFramePopup popup = popupIndex.get(c);
+        if (popup != null) {
+            TabFramePosition pos = getPosition(popup);
+            if (pos != null && popup.getContentPane() == c) {
+                return pos;
+            }
+            // The content pane has been changed on the popup directly.
+            popupIndex.remove(c);
+        }
         for (Alignment a : Alignment.values()) {
             List<TabFramePopup> list = popupLists[a.ordinal()];
             for (int i = 0; i < list.size(); i++) {
                 if (Objects.equals(list.get(i).getContentPane(), c)) {
+                    popupIndex.put(c, list.get(i));
                     return new TabFramePosition(a, i);
                 }
             }
@@ -509,6 +558,23 @@ public class JTabFrame extends JComponent {
         return null;
     }
 
+    /*
+     * Get the position of the popup or null if it isn't added.
+     */
+    private TabFramePosition getPosition(final TabFramePopup popup) {
+        Alignment a = popup.getAlignment();
+        if (a == null || a == Alignment.CENTER) return null;
+        List<TabFramePopup> list = compsForAlignment(a);
+        int index = popup.getIndex();
+        if (index >= 0 && index < list.size() && list.get(index) == popup) {
+            return new TabFramePosition(a, index);
+        }
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == popup) return new TabFramePosition(a, i);
+        }
+        return null;
+    }
+
     /**
      * Close a popup.
      *
@@ -528,12 +594,12 @@ public class JTabFrame extends JComponent {
      */
     public void toggleTab(final Alignment a, final int index, final boolean enabled) {
         int oldIndex = selectedIndices[a.getIndex()];
-        if (content.isEnabled(a) == enabled && oldIndex == index) return;
+        if (isPopupEnabled(a) == enabled && oldIndex == index) return;
         TabFrameTab compAtIndex = getTabComponentAt(a, index);
         compAtIndex.setSelected(enabled);
         notifySelectionChange(compAtIndex);
         setPopupVisibility(compAtIndex, enabled);
-        if (enabled) {
+        if (enabled && !isUpdating()) {
             getPopupComponentAt(a).doLayout();
             getPopupComponentAt(a).requestFocus();
         }
@@ -568,11 +634,27 @@ public class JTabFrame extends JComponent {
         Alignment a = tabComponent.getOrientation();
         TabFramePopup c = compsForAlignment(a).get(tabComponent.getIndex());
         c.setEnabled(selected);
+        if (isUpdating()) {
+            pendingPopups[a.ordinal()] = c.getComponent();
+            pendingEnabled[a.ordinal()] = selected;
+            layoutPending = true;
+            return;
+        }
         content.setComponentAt(a, c.getComponent());
         content.setEnabled(a, selected);
         doLayout();
     }
 
+    /*
+     * Returns whether the popup at the given position is visible taking pending changes into account.
+     */
+    private boolean isPopupEnabled(final Alignment a) {
+        if (pendingPopups[a.ordinal()] != null) {
+            return pendingEnabled[a.ordinal()];
+        }
+        return content.isEnabled(a);
+    }
+
     /**
      * Get the popup component at the given position that is currently active.
      *
@@ -687,7 +769,7 @@ public class JTabFrame extends JComponent {
         }
 
         doLayout();
-        getTabContainer(a).repaint();
+        repaintTabContainer(a);
     }
 
     /**
@@ -697,13 +779,25 @@ public class JTabFrame extends JComponent {
      * @param index the index of the tab.{@link TabFramePosition#getIndex()}
      */
     public void removeTab(final Alignment a, final int index) {
-        TabFramePopup comp = compsForAlignment(a).get(index);
+        List<TabFramePopup> popups = compsForAlignment(a);
+        TabFramePopup comp = popups.get(index);
         comp.close();
+        unindexPopup(comp);
+        popups.remove(index);
         comp.setTabFrame(null);
         comp.setIndex(-1);
+        updatePopupIndices(popups, index);
         removeTabComp(a, index);
         doLayout();
-        getTabContainer(a).repaint();
+        repaintTabContainer(a);
+    }
+
+    private void repaintTabContainer(final Alignment a) {
+        if (isUpdating()) {
+            layoutPending = true;
+        } else {
+            getTabContainer(a).repaint();
+        }
     }
 
     /**
@@ -942,7 +1036,74 @@ public class JTabFrame extends JComponent {
      * @param index the index.{@link TabFramePosition#getIndex()}
      */
     public void setComponentAt(final Component c, final Alignment a, final int index) {
-        compsForAlignment(a).get(index).setContentPane(c);
+        TabFramePopup popup = compsForAlignment(a).get(index);
+        unindexPopup(popup);
+        popup.setContentPane(c);
+        indexPopup(popup);
+    }
+
+    /**
+     * Starts a batch update. Until the matching call to {@link #endUpdate()} layout, the visibility changes of the
+     * popups and repainting are deferred. This should be used when adding or moving many tabs at once e.g. when
+     * restoring a saved layout.
+     * <p>
+     * Calls may be nested. Only the outermost call to {@link #endUpdate()} commits the changes.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Ends a batch update started by {@link #beginUpdate()}. If this ends the outermost batch all deferred changes are
+     * applied and the tabFrame is laid out and repainted once.
+     */
+    public void endUpdate() {
+        if (updateDepth <= 0) {
+            throw new IllegalStateException("endUpdate called without matching beginUpdate");
+        }
+        updateDepth--;
+        if (updateDepth > 0) return;
+        Component focusComponent = null;
+        for (Alignment a : Alignment.values()) {
+            int i = a.ordinal();
+            Component popup = pendingPopups[i];
+            if (popup == null) continue;
+            pendingPopups[i] = null;
+            content.setComponentAt(a, popup);
+            content.setEnabled(a, pendingEnabled[i]);
+            if (pendingEnabled[i]) {
+                popup.doLayout();
+                focusComponent = popup;
+            }
+        }
+        if (layoutPending) {
+            layoutPending = false;
+            revalidate();
+            doLayout();
+            repaint();
+        }
+        if (focusComponent != null) {
+            focusComponent.requestFocus();
+        }
+    }
+
+    /**
+     * Returns whether a batch update is in progress.
+     *
+     * @return true if between {@link #beginUpdate()} and {@link #endUpdate()}.
+     * @see #beginUpdate()
+     */
+    public boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
+    @Override
+    public void doLayout() {
+        if (isUpdating()) {
+            layoutPending = true;
+            return;
+        }
+        super.doLayout();
     }
 
     /**
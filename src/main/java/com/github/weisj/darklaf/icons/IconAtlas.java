@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.icons;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.Theme;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sprite atlas for a fixed set of icons, e.g. all states of a check box. The icons are rendered once per theme and
+ * scaling factor into a single image. Painting an icon of the atlas then only copies its region of the image.
+ * <p>
+ * If the icon can't be mapped exactly onto device pixels it is painted directly.
+ * <p>
+ * The atlas image is premultiplied, so copying an icon composites it only once. Compared to painting the icon directly
+ * the result may still differ by one unit per color channel, as the antialiased edges are blended with a transparent
+ * background first.
+ * <p>
+ * This class must only be used on the event dispatch thread.
+ *
+ * @author Jannis Weis
+ */
+public final class IconAtlas {
+
+    private static final int MAX_SHARED_ATLASES = 8;
+    private static final Map<List<Icon>, IconAtlas> sharedAtlases =
+            new LinkedHashMap<List<Icon>, IconAtlas>(MAX_SHARED_ATLASES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<List<Icon>, IconAtlas> eldest) {
+                    return size() > MAX_SHARED_ATLASES;
+                }
+            };
+
+    private final Icon[] icons;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final Map<Double, BufferedImage> images = new HashMap<>();
+    private Theme theme;
+
+    /**
+     * Create a new atlas.
+     *
+     * @param icons the icons of the atlas. May contain null values, which are ignored.
+     */
+    public IconAtlas(final Icon... icons) {
+        this.icons = icons.clone();
+        int width = 0;
+        int height = 0;
+        for (Icon icon : icons) {
+            if (icon == null) continue;
+            width = Math.max(width, icon.getIconWidth());
+            height = Math.max(height, icon.getIconHeight());
+        }
+        cellWidth = width;
+        cellHeight = height;
+    }
+
+    /**
+     * Returns an atlas for the given icons that is shared with all callers using the same icons.
+     *
+     * @param icons the icons.
+     * @return the shared atlas.
+     */
+    public static IconAtlas getSharedAtlas(final Icon... icons) {
+        return sharedAtlases.computeIfAbsent(Arrays.asList(icons.clone()), k -> new IconAtlas(icons));
+    }
+
+    /**
+     * Paints the icon. If the icon is part of the atlas it is copied from the atlas image.
+     *
+     * @param c    the component the icon is painted on.
+     * @param g    the graphics.
+     * @param icon the icon.
+     * @param x    the x coordinate.
+     * @param y    the y coordinate.
+     */
+    public void paintIcon(final Component c, final Graphics g, final Icon icon, final int x, final int y) {
+        int index = indexOf(icon);
+        double scale = index >= 0 ? getPixelExactScale(g, icon, x, y) : -1;
+        if (scale <= 0) {
+            icon.paintIcon(c, g, x, y);
+            return;
+        }
+        BufferedImage image = getImage(c, scale);
+        int w = icon.getIconWidth();
+        int h = icon.getIconHeight();
+        int sx = (int) Math.round(index * cellWidth * scale);
+        g.drawImage(image, x, y, x + w, y + h,
+                    sx, 0, sx + (int) Math.round(w * scale), (int) Math.round(h * scale), null);
+    }
+
+    private int indexOf(final Icon icon) {
+        for (int i = 0; i < icons.length; i++) {
+            if (icons[i] == icon) return i;
+        }
+        return -1;
+    }
+
+    private BufferedImage getImage(final Component c, final double scale) {
+        Theme currentTheme = LafManager.getTheme();
+        if (theme != currentTheme) {
+            images.clear();
+            theme = currentTheme;
+        }
+        BufferedImage image = images.get(scale);
+        if (image == null) {
+            image = new BufferedImage((int) Math.round(icons.length * cellWidth * scale),
+                                      (int) Math.round(cellHeight * scale), BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.scale(scale, scale);
+                for (int i = 0; i < icons.length; i++) {
+                    if (icons[i] != null) {
+                        icons[i].paintIcon(c, g, i * cellWidth, 0);
+                    }
+                }
+            } finally {
+                g.dispose();
+            }
+            images.put(scale, image);
+        }
+        return image;
+    }
+
+    /*
+     * Returns the scale if the icon covers whole device pixels. Otherwise copying from the atlas would blur the icon.
+     */
+    private static double getPixelExactScale(final Graphics g, final Icon icon, final int x, final int y) {
+        if (!(g instanceof Graphics2D)) return -1;
+        AffineTransform at = ((Graphics2D) g).getTransform();
+        double scale = at.getScaleX();
+        if (scale <= 0 || scale != at.getScaleY() || at.getShearX() != 0 || at.getShearY() != 0) return -1;
+        if (!isInteger(at.getTranslateX() + x * scale) || !isInteger(at.getTranslateY() + y * scale)
+                || !isInteger(icon.getIconWidth() * scale) || !isInteger(icon.getIconHeight() * scale)) {
+            return -1;
+        }
+        return scale;
+    }
+
+    private static boolean isInteger(final double value) {
+        return Math.abs(value - Math.rint(value)) < 1E-6;
+    }
+}
@@ -47,9 +47,16 @@ import java.beans.PropertyChangeListener;
  */
 public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListener {
 
-    protected static final Rectangle viewRect = new Rectangle();
-    protected static final Rectangle textRect = new Rectangle();
-    protected static final Rectangle iconRect = new Rectangle();
+    protected final Rectangle viewRect = new Rectangle();
+    protected final Rectangle textRect = new Rectangle();
+    protected final Rectangle iconRect = new Rectangle();
+    private final Insets layoutInsets = new Insets(0, 0, 0, 0);
+    private final Insets currentInsets = new Insets(0, 0, 0, 0);
+    private FontMetrics layoutFontMetrics;
+    private int layoutWidth;
+    private int layoutHeight;
+    private String layoutText;
+    private boolean layoutValid;
     protected int borderSize;
     protected int shadowHeight;
     protected Color inactiveForeground;
@@ -120,7 +127,6 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
     @Override
     protected void paintText(final Graphics g, final JComponent c,
                              final Rectangle textRect, final String text) {
-        GraphicsContext config = GraphicsUtil.setupAntialiasing(g);
         AbstractButton button = (AbstractButton) c;
         ButtonModel model = button.getModel();
         g.setColor(getForeground(button));
@@ -136,7 +142,6 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
                                                       textRect.x + getTextShiftOffset(),
                                                       textRect.y + metrics.getAscent() + getTextShiftOffset());
         }
-        config.restore();
     }
 
     @Override
@@ -145,8 +150,7 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
         AbstractButton b = (AbstractButton) c;
         paintButton(g, c);
 
-        String text = layout(b, c, SwingUtilities2.getFontMetrics(b, g),
-                             b.getWidth(), b.getHeight());
+        String text = getLayoutText(b, c, g);
 
         paintIcon(g, b, c);
         paintText(g, b, c, text);
@@ -253,6 +257,41 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
                 && "shadow".equals(((JButton) c).getClientProperty("JButton.variant"));
     }
 
+    /**
+     * Returns the clipped text of the button and ensures {@link #viewRect}, {@link #iconRect} and {@link #textRect}
+     * hold the current layout. The layout is only recomputed if the size, insets or font metrics of the button changed
+     * or a property affecting the layout was changed since the last call.
+     *
+     * @param b the button.
+     * @param c the component.
+     * @param g the graphics object used for painting.
+     * @return the clipped text.
+     */
+    protected String getLayoutText(final AbstractButton b, final JComponent c, final Graphics g) {
+        FontMetrics fm = SwingUtilities2.getFontMetrics(b, g);
+        int width = b.getWidth();
+        int height = b.getHeight();
+        Insets ins = b.getInsets(currentInsets);
+        if (!layoutValid || fm != layoutFontMetrics
+                || width != layoutWidth || height != layoutHeight || !ins.equals(layoutInsets)) {
+            layoutText = layout(b, c, fm, width, height);
+            layoutFontMetrics = fm;
+            layoutWidth = width;
+            layoutHeight = height;
+            layoutInsets.set(ins.top, ins.left, ins.bottom, ins.right);
+            layoutValid = true;
+        }
+        return layoutText;
+    }
+
+    /**
+     * Discard the cached layout. The next paint will compute it again.
+     */
+    protected void invalidateLayout() {
+        layoutValid = false;
+        layoutFontMetrics = null;
+    }
+
     protected String layout(final AbstractButton b, final JComponent c, final FontMetrics fm,
                             final int width, final int height) {
         Insets i = b.getInsets();
@@ -279,23 +318,31 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
                 && "fullShadow".equals(((JButton) c).getClientProperty("JButton.variant"));
     }
 
+    /**
+     * Paints the text of the button. The state of the graphics object isn't restored afterwards. This is the
+     * responsibility of the caller.
+     *
+     * @param g    the graphics object.
+     * @param b    the button.
+     * @param c    the component.
+     * @param text the clipped text.
+     */
     protected void paintText(final Graphics g, final AbstractButton b, final JComponent c, final String text) {
-        GraphicsContext context = GraphicsUtil.setupAntialiasing(g);
+        if (text == null || text.equals("")) return;
+        GraphicsUtil.setupTextAntialiasing(g);
+        Font font = g.getFont();
         if (isDefaultButton(b)) {
-            g.setFont(g.getFont().deriveFont(Font.BOLD));
-        } else if (g.getFont().isBold()) {
-            g.setFont(g.getFont().deriveFont(Font.PLAIN));
+            if (!font.isBold()) g.setFont(font.deriveFont(Font.BOLD));
+        } else if (font.isBold()) {
+            g.setFont(font.deriveFont(Font.PLAIN));
         }
         g.setClip(textRect);
-        if (text != null && !text.equals("")) {
-            View v = (View) c.getClientProperty(BasicHTML.propertyKey);
-            if (v != null) {
-                v.paint(g, textRect);
-            } else {
-                paintText(g, b, textRect, text);
-            }
+        View v = (View) c.getClientProperty(BasicHTML.propertyKey);
+        if (v != null) {
+            v.paint(g, textRect);
+        } else {
+            paintText(g, b, textRect, text);
         }
-        context.restore();
     }
 
     protected void paintIcon(final Graphics g, final AbstractButton b, final JComponent c) {
@@ -350,8 +397,32 @@ public class DarkButtonUI extends BasicButtonUI implements PropertyChangeListene
     public void propertyChange(final PropertyChangeEvent evt) {
         String key = evt.getPropertyName();
         if (key.startsWith("JButton.")) {
+            invalidateLayout();
             button.repaint();
             button.revalidate();
+        } else if (isLayoutProperty(key)) {
+            invalidateLayout();
+        }
+    }
+
+    protected boolean isLayoutProperty(final String key) {
+        switch (key) {
+            case AbstractButton.TEXT_CHANGED_PROPERTY:
+            case AbstractButton.ICON_CHANGED_PROPERTY:
+            case AbstractButton.MARGIN_CHANGED_PROPERTY:
+            case AbstractButton.HORIZONTAL_ALIGNMENT_CHANGED_PROPERTY:
+            case AbstractButton.VERTICAL_ALIGNMENT_CHANGED_PROPERTY:
+            case AbstractButton.HORIZONTAL_TEXT_POSITION_CHANGED_PROPERTY:
+            case AbstractButton.VERTICAL_TEXT_POSITION_CHANGED_PROPERTY:
+            case "iconTextGap":
+            case "hideActionText":
+            case "font":
+            case "border":
+            case "componentOrientation":
+            case BasicHTML.propertyKey:
+                return true;
+            default:
+                return key.startsWith("JToggleButton.");
         }
     }
 }
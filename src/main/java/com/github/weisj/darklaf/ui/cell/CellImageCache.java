@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.cell;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of rendered cell images for lists and tables with expensive renderers. An image is reused as long as the
+ * cell value, the cell state (e.g. selection and focus), the cell size and the scale of the graphics don't change.
+ * Everything that is the same for all cells, like the colors of the component or the theme, is summarized by a style
+ * key. If the style key changes all images are discarded.
+ * <p>
+ * The memory used by the images is bounded. The least recently painted images are evicted first. Clients have to
+ * invalidate the cache if the model changes.
+ * <p>
+ * This class must only be used on the event dispatch thread.
+ *
+ * @author Jannis Weis
+ */
+public class CellImageCache {
+
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private Object styleKey;
+
+    public CellImageCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxBytes the maximum number of bytes used for the images.
+     */
+    public CellImageCache(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the key of a cell.
+     *
+     * @param row    the row.
+     * @param column the column.
+     * @return the key.
+     */
+    public static long key(final int row, final int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Discards all images if the style has changed since the last call.
+     *
+     * @param styleKey the key summarizing the state shared by all cells. Compared by {@link Object#equals(Object)}.
+     */
+    public void validate(final Object styleKey) {
+        if (!Objects.equals(this.styleKey, styleKey)) {
+            clear();
+            this.styleKey = styleKey;
+        }
+    }
+
+    /**
+     * Paints the cached image of the cell if it is up to date.
+     *
+     * @param g      the graphics.
+     * @param key    the key of the cell.
+     * @param value  the value of the cell.
+     * @param state  the state bits of the cell.
+     * @param bounds the bounds of the cell.
+     * @return true if the cell has been painted.
+     */
+    public boolean paintCached(final Graphics g, final long key, final Object value, final int state,
+                               final Rectangle bounds) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.state != state
+                || entry.width != bounds.width || entry.height != bounds.height
+                || !Objects.equals(entry.value, value)) {
+            return false;
+        }
+        AffineTransform at = ((Graphics2D) g).getTransform();
+        if (entry.scaleX != at.getScaleX() || entry.scaleY != at.getScaleY()) return false;
+        g.drawImage(entry.image, bounds.x, bounds.y, bounds.width, bounds.height, null);
+        return true;
+    }
+
+    /**
+     * Paints the renderer component into a new image, caches it and paints it. If the graphics can't be cached the
+     * component is painted directly.
+     *
+     * @param g        the graphics.
+     * @param pane     the renderer pane.
+     * @param c        the prepared renderer component.
+     * @param parent   the component the cell belongs to.
+     * @param key      the key of the cell.
+     * @param value    the value of the cell.
+     * @param state    the state bits of the cell.
+     * @param bounds   the bounds of the cell.
+     */
+    public void paintAndCache(final Graphics g, final CellRendererPane pane, final Component c,
+                              final Container parent, final long key, final Object value, final int state,
+                              final Rectangle bounds) {
+        AffineTransform at = g instanceof Graphics2D ? ((Graphics2D) g).getTransform() : null;
+        int width = at != null ? (int) Math.ceil(bounds.width * at.getScaleX()) : 0;
+        int height = at != null ? (int) Math.ceil(bounds.height * at.getScaleY()) : 0;
+        long size = (long) width * height * BYTES_PER_PIXEL;
+        if (at == null || at.getShearX() != 0 || at.getShearY() != 0
+                || width <= 0 || height <= 0 || size > maxBytes / 4) {
+            pane.paintComponent(g, c, parent, bounds.x, bounds.y, bounds.width, bounds.height, true);
+            return;
+        }
+        /*
+         * Renderers may decide whether they are opaque only once they are painted, so always keep the alpha channel.
+         */
+        BufferedImage image = ((Graphics2D) g).getDeviceConfiguration()
+                                              .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D ig = image.createGraphics();
+        ig.setRenderingHints(((Graphics2D) g).getRenderingHints());
+        ig.scale(at.getScaleX(), at.getScaleY());
+        pane.paintComponent(ig, c, parent, 0, 0, bounds.width, bounds.height, true);
+        ig.dispose();
+
+        Entry entry = new Entry(value, state, bounds.width, bounds.height, at.getScaleX(), at.getScaleY(), image);
+        Entry old = entries.put(key, entry);
+        if (old != null) bytes -= old.size();
+        bytes += entry.size();
+        evict();
+        g.drawImage(image, bounds.x, bounds.y, bounds.width, bounds.height, null);
+    }
+
+    /**
+     * Discards the images of all cells in the given row range.
+     *
+     * @param firstRow the first row (inclusive).
+     * @param lastRow  the last row (inclusive).
+     */
+    public void invalidateRows(final int firstRow, final int lastRow) {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> e = iterator.next();
+            int row = (int) (e.getKey() >> 32);
+            if (row >= firstRow && row <= lastRow) {
+                bytes -= e.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public long getSizeInBytes() {
+        return bytes;
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final int state;
+        private final int width;
+        private final int height;
+        private final double scaleX;
+        private final double scaleY;
+        private final BufferedImage image;
+
+        private Entry(final Object value, final int state, final int width, final int height,
+                      final double scaleX, final double scaleY, final BufferedImage image) {
+            this.value = value;
+            this.state = state;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.image = image;
+        }
+
+        private long size() {
+            return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+        }
+    }
+}
@@ -24,6 +24,7 @@
 package com.github.weisj.darklaf.ui.checkbox;
 
 import com.github.weisj.darklaf.icons.EmptyIcon;
+import com.github.weisj.darklaf.icons.IconAtlas;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.GraphicsContext;
 import com.github.weisj.darklaf.util.GraphicsUtil;
@@ -49,10 +50,10 @@ public class DarkCheckBoxUI extends MetalCheckBoxUI implements PropertyChangeLis
 
     private static final int ICON_OFF = 4;
     private static final int SIZE = 13;
-    private static final Rectangle viewRect = new Rectangle();
-    private static final Rectangle iconRect = new Rectangle();
-    private static final Rectangle textRect = new Rectangle();
-    private static Dimension size = new Dimension();
+    private final Rectangle viewRect = new Rectangle();
+    private final Rectangle iconRect = new Rectangle();
+    private final Rectangle textRect = new Rectangle();
+    private Dimension size = new Dimension();
     private final RoundRectangle2D hitArea = new RoundRectangle2D.Float();
     protected JCheckBox checkBox;
     protected int arcSize;
@@ -74,6 +75,7 @@ public class DarkCheckBoxUI extends MetalCheckBoxUI implements PropertyChangeLis
     private Icon checkBoxSelectedIcon;
     private Icon checkBoxSelectedDisabledIcon;
     private Icon checkBoxSelectedFocusedIcon;
+    private IconAtlas iconAtlas;
 
 
     public static ComponentUI createUI(final JComponent c) {
@@ -102,6 +104,12 @@ public class DarkCheckBoxUI extends MetalCheckBoxUI implements PropertyChangeLis
         checkBoxSelectedIcon = UIManager.getIcon("CheckBox.selected.icon");
         checkBoxSelectedDisabledIcon = UIManager.getIcon("CheckBox.selectedDisabled.icon");
         checkBoxSelectedFocusedIcon = UIManager.getIcon("CheckBox.selectedFocused.icon");
+        iconAtlas = IconAtlas.getSharedAtlas(checkBoxIcon, checkBoxDisabledIcon, checkBoxFocusedIcon,
+                                             checkBoxSelectedIcon, checkBoxSelectedDisabledIcon,
+                                             checkBoxSelectedFocusedIcon,
+                                             UIManager.getIcon("CheckBox.indeterminate.icon"),
+                                             UIManager.getIcon("CheckBox.indeterminateDisabled.icon"),
+                                             UIManager.getIcon("CheckBox.indeterminateFocused.icon"));
         arcSize = UIManager.getInt("CheckBox.arc");
         borderSize = UIManager.getInt("CheckBox.borderThickness");
         background = UIManager.getColor("CheckBox.activeFillColor");
@@ -130,7 +138,7 @@ public class DarkCheckBoxUI extends MetalCheckBoxUI implements PropertyChangeLis
     }
 
     @Override
-    public synchronized void paint(final Graphics g2d, final JComponent c) {
+    public void paint(final Graphics g2d, final JComponent c) {
         Graphics2D g = (Graphics2D) g2d;
         JCheckBox b = (JCheckBox) c;
         FontMetrics fm = SwingUtilities2.getFontMetrics(c, g, c.getFont());
@@ -145,7 +153,7 @@ public class DarkCheckBoxUI extends MetalCheckBoxUI implements PropertyChangeLis
         } else {
             Icon checkIcon = getCheckIcon(b);
             if (checkIcon != null) {
-                checkIcon.paintIcon(c, g, iconRect.x, iconRect.y + 1);
+                iconAtlas.paintIcon(c, g, checkIcon, iconRect.x, iconRect.y + 1);
             } else {
                 paintDarkCheck(c, g, b);
             }
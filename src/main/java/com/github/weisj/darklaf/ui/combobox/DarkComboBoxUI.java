@@ -27,11 +27,14 @@ import com.github.weisj.darklaf.components.ArrowButton;
 import com.github.weisj.darklaf.ui.list.DarkListCellRenderer;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.GraphicsContext;
+import com.github.weisj.darklaf.util.ListModelIndex;
+import com.github.weisj.darklaf.util.PrefixIndex;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.InsetsUIResource;
+import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicComboBoxUI;
 import javax.swing.plaf.basic.ComboPopup;
 import java.awt.*;
@@ -53,6 +56,14 @@ import java.beans.PropertyChangeListener;
  */
 public class DarkComboBoxUI extends BasicComboBoxUI implements Border, PropertyChangeListener {
 
+    /**
+     * Client property to enable the large model mode. In this mode type-ahead uses a prefix index of the model that
+     * is built off the event dispatch thread and the display and popup cell sizes are computed from a sample of the
+     * model instead of measuring every element. While the popup is visible it only shows the elements matching the
+     * typed prefix.
+     */
+    public static final String KEY_LARGE_MODEL = "JComboBox.isLargeModel";
+    protected static final int SIZE_SAMPLE_COUNT = 100;
     private static final int BUTTON_PAD = 7;
 
     private final MouseListener mouseListener = new MouseAdapter() {
@@ -94,6 +105,16 @@ public class DarkComboBoxUI extends BasicComboBoxUI implements Border, PropertyC
         inactiveBorderColor = UIManager.getColor("ComboBox.inactiveBorderColor");
         arrowBackgroundStart = UIManager.getColor("ComboBox.arrowBackgroundStart");
         arrowBackgroundEnd = UIManager.getColor("ComboBox.arrowBackgroundEnd");
+        updateLargeModel();
+    }
+
+    @Override
+    protected void uninstallDefaults() {
+        JComboBox.KeySelectionManager keySelectionManager = comboBox.getKeySelectionManager();
+        if (keySelectionManager instanceof IndexedKeySelectionManager) {
+            ((IndexedKeySelectionManager) keySelectionManager).setModel(null);
+        }
+        super.uninstallDefaults();
     }
 
     @Override
@@ -224,6 +245,123 @@ public class DarkComboBoxUI extends BasicComboBoxUI implements Border, PropertyC
         return comboBox.isEnabled() ? comboBox.getForeground() : inactiveForeground;
     }
 
+    @Override
+    protected void selectNextPossibleValue() {
+        if (!selectFilteredValue(1)) super.selectNextPossibleValue();
+    }
+
+    @Override
+    protected void selectPreviousPossibleValue() {
+        if (!selectFilteredValue(-1)) super.selectPreviousPossibleValue();
+    }
+
+    /*
+     * The rows of a filtered popup list don't correspond to the indices of the model.
+     */
+    private boolean selectFilteredValue(final int offset) {
+        if (!comboBox.isPopupVisible() || !(popup instanceof DarkComboPopup)) return false;
+        DarkComboPopup comboPopup = (DarkComboPopup) popup;
+        if (!comboPopup.isFiltered()) return false;
+        int index = listBox.getSelectedIndex() + offset;
+        if (index >= 0 && index < listBox.getModel().getSize()) {
+            listBox.setSelectedIndex(index);
+            listBox.ensureIndexIsVisible(index);
+            comboBox.setSelectedIndex(comboPopup.convertIndexToModel(index));
+            comboBox.repaint();
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the popup list can be filtered by the typed prefix. The selection of table cell editors and
+     * with ComboBox.noActionOnKeyNavigation is committed by the row of the popup list, which is why they aren't
+     * filtered.
+     *
+     * @return true if the popup can be filtered.
+     */
+    protected boolean isPopupFilterable() {
+        return comboBox.isPopupVisible() && popup instanceof DarkComboPopup && !isTableCellEditor(comboBox)
+                && !UIManager.getBoolean("ComboBox.noActionOnKeyNavigation");
+    }
+
+    public static boolean isLargeModel(final JComboBox<?> comboBox) {
+        return Boolean.TRUE.equals(comboBox.getClientProperty(KEY_LARGE_MODEL));
+    }
+
+    protected void updateLargeModel() {
+        JComboBox.KeySelectionManager current = comboBox.getKeySelectionManager();
+        if (isLargeModel(comboBox)) {
+            if (!(current instanceof IndexedKeySelectionManager)
+                    && (current == null || current instanceof UIResource)) {
+                IndexedKeySelectionManager keySelectionManager = new IndexedKeySelectionManager(current);
+                keySelectionManager.setModel(comboBox.getModel());
+                comboBox.setKeySelectionManager(keySelectionManager);
+            }
+        } else if (current instanceof IndexedKeySelectionManager) {
+            IndexedKeySelectionManager keySelectionManager = (IndexedKeySelectionManager) current;
+            keySelectionManager.setModel(null);
+            comboBox.setKeySelectionManager(keySelectionManager.fallback);
+        }
+        isMinimumSizeDirty = true;
+    }
+
+    @Override
+    protected Dimension getDisplaySize() {
+        if (!isLargeModel(comboBox) || comboBox.getPrototypeDisplayValue() != null) {
+            return super.getDisplaySize();
+        }
+        Dimension result = getSampledCellSize();
+        if (comboBox.getModel().getSize() == 0) {
+            result = getDefaultSize();
+            if (comboBox.isEditable()) {
+                result.width = 100;
+            }
+        }
+        if (comboBox.isEditable() && editor != null) {
+            Dimension d = editor.getPreferredSize();
+            result.width = Math.max(result.width, d.width);
+            result.height = Math.max(result.height, d.height);
+        }
+        if (boxPadding != null) {
+            result.width += boxPadding.left + boxPadding.right;
+            result.height += boxPadding.top + boxPadding.bottom;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the size of the renderer from a bounded sample of the model. The sample consists of the selected
+     * element and elements evenly distributed over the model.
+     *
+     * @return the maximum renderer size of the sampled elements.
+     */
+    protected Dimension getSampledCellSize() {
+        Dimension result = new Dimension();
+        ListCellRenderer<Object> renderer = comboBox.getRenderer();
+        if (renderer == null) {
+            renderer = new DefaultListCellRenderer();
+        }
+        ListModel<?> model = comboBox.getModel();
+        int size = model.getSize();
+        if (size == 0) return result;
+        int step = Math.max(1, size / SIZE_SAMPLE_COUNT);
+        for (int i = 0; i < size; i += step) {
+            updateMaxSize(result, renderer, model.getElementAt(i));
+        }
+        Object selected = comboBox.getSelectedItem();
+        if (selected != null) {
+            updateMaxSize(result, renderer, selected);
+        }
+        return result;
+    }
+
+    private void updateMaxSize(final Dimension size, final ListCellRenderer<Object> renderer, final Object value) {
+        Component c = renderer.getListCellRendererComponent(listBox, value, -1, false, false);
+        Dimension d = getSizeForComponent(c);
+        size.width = Math.max(size.width, d.width);
+        size.height = Math.max(size.height, d.height);
+    }
+
     @Override
     public Dimension getPreferredSize(final JComponent c) {
         return getMinimumSize(c);
@@ -434,6 +572,112 @@ public class DarkComboBoxUI extends BasicComboBoxUI implements Border, PropertyC
             comboBox.repaint();
         } else if ("JComboBox.isTableCellEditor".equals(key) || "JComboBox.isTreeCellEditor".equals(key)) {
             comboBox.repaint();
+        } else if (KEY_LARGE_MODEL.equals(key)) {
+            updateLargeModel();
+            comboBox.revalidate();
+        } else if ("model".equals(key)) {
+            JComboBox.KeySelectionManager keySelectionManager = comboBox.getKeySelectionManager();
+            if (keySelectionManager instanceof IndexedKeySelectionManager) {
+                ((IndexedKeySelectionManager) keySelectionManager).setModel(comboBox.getModel());
+            }
+        }
+    }
+
+    /**
+     * Key selection manager which looks up the typed prefix in a {@link PrefixIndex} of the model. Each further
+     * typed character narrows the range of matches found for the previous prefix. If the popup is visible its list is
+     * filtered to the matches. Until the index is available the previously installed key selection manager is used.
+     */
+    protected class IndexedKeySelectionManager implements JComboBox.KeySelectionManager, UIResource {
+
+        private final ListModelIndex modelIndex = new ListModelIndex(ListModelIndex::toString);
+        private final long timeFactor;
+        private long lastTime;
+        private String typedString = "";
+        private String prefix = "";
+        private String lastKey = "";
+        private PrefixIndex lastIndex;
+        private int rangeStart;
+        private int rangeEnd;
+        private PrefixIndex filterIndex;
+        private int filterStart;
+        private int filterEnd;
+
+        private final JComboBox.KeySelectionManager fallback;
+
+        public IndexedKeySelectionManager(final JComboBox.KeySelectionManager fallback) {
+            this.fallback = fallback;
+            Object factor = UIManager.get("ComboBox.timeFactor");
+            timeFactor = factor instanceof Long ? (Long) factor : 1000L;
+        }
+
+        public void setModel(final ListModel<?> model) {
+            modelIndex.setModel(model);
+            lastTime = 0;
+        }
+
+        /*
+         * JComboBox.KeySelectionManager declares a raw ComboBoxModel up to Java 8. A generic parameter doesn't
+         * override it there.
+         */
+        @Override
+        @SuppressWarnings("rawtypes")
+        public int selectionForKey(final char aKey, final ComboBoxModel aModel) {
+            if (modelIndex.getModel() != aModel) {
+                setModel(aModel);
+            }
+            PrefixIndex index = modelIndex.getIndex();
+            if (index == null) {
+                lastTime = 0;
+                return fallback != null ? fallback.selectionForKey(aKey, aModel) : -1;
+            }
+            if (index != lastIndex) {
+                lastIndex = index;
+                lastKey = "";
+            }
+            long time = EventQueue.getMostRecentEventTime();
+            int startIndex = comboBox.getSelectedIndex();
+            if (lastTime != 0 && time - lastTime < timeFactor) {
+                typedString += aKey;
+                if ((prefix.length() == 1) && (aKey == prefix.charAt(0))) {
+                    // Subsequent same key presses move to the next element starting with the same letter.
+                    startIndex++;
+                } else {
+                    prefix = typedString;
+                }
+            } else {
+                startIndex++;
+                typedString = "" + aKey;
+                prefix = typedString;
+            }
+            lastTime = time;
+            if (startIndex < 0 || startIndex >= aModel.getSize()) {
+                startIndex = 0;
+            }
+            String key = prefix.toUpperCase();
+            if (!key.startsWith(lastKey) || lastKey.isEmpty()) {
+                rangeStart = 0;
+                rangeEnd = index.size();
+            }
+            rangeStart = index.lowerBound(key, rangeStart, rangeEnd);
+            rangeEnd = index.upperBound(key, rangeStart, rangeEnd);
+            lastKey = key;
+            if (rangeStart < rangeEnd && isPopupFilterable()) {
+                filterPopup(index);
+            }
+            return index.nextMatch(rangeStart, rangeEnd, startIndex);
+        }
+
+        private void filterPopup(final PrefixIndex index) {
+            DarkComboPopup comboPopup = (DarkComboPopup) popup;
+            if (comboPopup.isFiltered() && index == filterIndex && rangeStart == filterStart
+                    && rangeEnd == filterEnd) {
+                return;
+            }
+            filterIndex = index;
+            filterStart = rangeStart;
+            filterEnd = rangeEnd;
+            comboPopup.setFilter(index.getElementIndices(rangeStart, rangeEnd));
         }
     }
 }
@@ -26,13 +26,24 @@ package com.github.weisj.darklaf.ui.combobox;
 import com.github.weisj.darklaf.components.OverlayScrollPane;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import javax.swing.plaf.basic.BasicComboPopup;
 import java.awt.*;
 import java.awt.event.AdjustmentListener;
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
 
 /**
+ * Popup of the combo box. The list can be restricted to a subset of the elements of the combo box model using {@link
+ * #setFilter(int[])}. While the list is filtered its rows don't correspond to the indices of the combo box model
+ * anymore. Use {@link #convertIndexToModel(int)} and {@link #convertIndexToView(int)} to translate between them.
+ *
  * @author Jannis Weis
  */
 public class DarkComboPopup extends BasicComboPopup {
@@ -51,7 +62,12 @@ public class DarkComboPopup extends BasicComboPopup {
     };
     private double lastEvent;
     private boolean visible = false;
+    private boolean fixedCellSize;
     private OverlayScrollPane overlayScrollPane;
+    /*
+     * Created in configureList, which is called from the constructor of the super class.
+     */
+    private FilterListModel filterModel;
 
     /**
      * Constructs a new instance of {@code BasicComboPopup}.
@@ -78,6 +94,7 @@ public class DarkComboPopup extends BasicComboPopup {
     protected void firePopupMenuWillBecomeInvisible() {
         lastEvent = System.currentTimeMillis();
         visible = false;
+        setFilter(null);
         overlayScrollPane.getVerticalScrollBar().removeAdjustmentListener(adjustmentListener);
         super.firePopupMenuWillBecomeInvisible();
     }
@@ -85,6 +102,7 @@ public class DarkComboPopup extends BasicComboPopup {
     @Override
     protected void firePopupMenuCanceled() {
         visible = false;
+        setFilter(null);
         overlayScrollPane.getVerticalScrollBar().removeAdjustmentListener(adjustmentListener);
         super.firePopupMenuCanceled();
     }
@@ -117,6 +135,105 @@ public class DarkComboPopup extends BasicComboPopup {
     @Override
     protected void configureList() {
         super.configureList();
+        if (filterModel == null) filterModel = new FilterListModel();
+        filterModel.setModel(comboBox.getModel());
+        list.setModel(filterModel);
+        updateListSelection(true);
+    }
+
+    @Override
+    public void uninstallingUI() {
+        super.uninstallingUI();
+        filterModel.setModel(null);
+    }
+
+    @Override
+    protected PropertyChangeListener createPropertyChangeListener() {
+        PropertyChangeListener listener = super.createPropertyChangeListener();
+        return e -> {
+            listener.propertyChange(e);
+            if ("model".equals(e.getPropertyName())) {
+                filterModel.setModel(comboBox.getModel());
+                list.setModel(filterModel);
+            }
+        };
+    }
+
+    @Override
+    protected ItemListener createItemListener() {
+        ItemListener listener = super.createItemListener();
+        return e -> {
+            listener.itemStateChanged(e);
+            if (isFiltered() && e.getStateChange() == ItemEvent.SELECTED) {
+                updateListSelection(false);
+            }
+        };
+    }
+
+    @Override
+    protected MouseListener createMouseListener() {
+        return new FilterMouseListener(super.createMouseListener());
+    }
+
+    @Override
+    protected MouseListener createListMouseListener() {
+        return new FilterMouseListener(super.createListMouseListener());
+    }
+
+    /**
+     * Restricts the list to the given elements of the combo box model. The filter is removed once the popup is
+     * hidden, the model changes or an element outside of the filter is selected.
+     *
+     * @param indices the indices of the elements in the combo box model in ascending order or null to show all
+     *                elements.
+     */
+    public void setFilter(final int[] indices) {
+        if (filterModel != null && filterModel.setFilter(indices)) {
+            updateListSelection(true);
+        }
+    }
+
+    public boolean isFiltered() {
+        return filterModel != null && filterModel.filter != null;
+    }
+
+    /**
+     * Converts a row of the list to the index in the combo box model.
+     *
+     * @param index the row of the list.
+     * @return the index in the combo box model.
+     */
+    public int convertIndexToModel(final int index) {
+        int[] filter = isFiltered() ? filterModel.filter : null;
+        if (filter == null || index < 0) return index;
+        return index < filter.length ? filter[index] : -1;
+    }
+
+    /**
+     * Converts an index in the combo box model to the row of the list.
+     *
+     * @param index the index in the combo box model.
+     * @return the row of the list or -1 if the element isn't shown.
+     */
+    public int convertIndexToView(final int index) {
+        int[] filter = isFiltered() ? filterModel.filter : null;
+        if (filter == null || index < 0) return index;
+        return Math.max(-1, Arrays.binarySearch(filter, index));
+    }
+
+    private void updateListSelection(final boolean keepFilter) {
+        int index = comboBox.getSelectedIndex();
+        int row = convertIndexToView(index);
+        if (row < 0 && index >= 0 && !keepFilter) {
+            filterModel.setFilter(null);
+            row = index;
+        }
+        if (row < 0) {
+            list.clearSelection();
+        } else {
+            list.setSelectedIndex(row);
+            list.ensureIndexIsVisible(row);
+        }
     }
 
     @Override
@@ -133,9 +250,29 @@ public class DarkComboPopup extends BasicComboPopup {
 
     @Override
     public void show() {
+        updateCellSize();
         super.show();
     }
 
+    /*
+     * For large models the list would measure every element to determine its layout.
+     * Use the size computed from a sample of the model instead.
+     */
+    protected void updateCellSize() {
+        boolean largeModel = DarkComboBoxUI.isLargeModel(comboBox) && comboBox.getUI() instanceof DarkComboBoxUI
+                && comboBox.getPrototypeDisplayValue() == null;
+        if (largeModel) {
+            Dimension size = ((DarkComboBoxUI) comboBox.getUI()).getSampledCellSize();
+            list.setFixedCellWidth(size.width);
+            list.setFixedCellHeight(size.height);
+            fixedCellSize = true;
+        } else if (fixedCellSize) {
+            list.setFixedCellWidth(-1);
+            list.setFixedCellHeight(-1);
+            fixedCellSize = false;
+        }
+    }
+
 
     @Override
     public void hide() {
@@ -150,4 +287,133 @@ public class DarkComboPopup extends BasicComboPopup {
         }
         visible = false;
     }
+
+    /*
+     * The basic popup commits the list selection on mouse release by its row. The filter is removed beforehand so
+     * the row is the index in the combo box model.
+     */
+    private class FilterMouseListener implements MouseListener {
+
+        private final MouseListener delegate;
+
+        private FilterMouseListener(final MouseListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void mouseClicked(final MouseEvent e) {
+            delegate.mouseClicked(e);
+        }
+
+        @Override
+        public void mousePressed(final MouseEvent e) {
+            delegate.mousePressed(e);
+        }
+
+        @Override
+        public void mouseReleased(final MouseEvent e) {
+            if (isFiltered()) {
+                Component source = e.getComponent();
+                Rectangle bounds = new Rectangle(0, 0, source.getWidth() - 1, source.getHeight() - 1);
+                if (source == list || !bounds.contains(e.getPoint())) {
+                    int index = convertIndexToModel(list.getSelectedIndex());
+                    filterModel.setFilter(null);
+                    if (index >= 0) {
+                        list.setSelectedIndex(index);
+                    } else {
+                        list.clearSelection();
+                    }
+                }
+            }
+            delegate.mouseReleased(e);
+        }
+
+        @Override
+        public void mouseEntered(final MouseEvent e) {
+            delegate.mouseEntered(e);
+        }
+
+        @Override
+        public void mouseExited(final MouseEvent e) {
+            delegate.mouseExited(e);
+        }
+    }
+
+    /*
+     * List model showing either all elements of the combo box model or the elements of the filter.
+     */
+    private static class FilterListModel extends AbstractListModel<Object> implements ListDataListener {
+
+        private ListModel<?> model;
+        private int[] filter;
+
+        private void setModel(final ListModel<?> model) {
+            if (this.model == model) return;
+            if (this.model != null) {
+                this.model.removeListDataListener(this);
+            }
+            int oldSize = getSize();
+            this.model = model;
+            filter = null;
+            if (model != null) {
+                model.addListDataListener(this);
+            }
+            fireChanged(oldSize);
+        }
+
+        private boolean setFilter(final int[] indices) {
+            if (Arrays.equals(filter, indices)) return false;
+            int oldSize = getSize();
+            filter = indices;
+            fireChanged(oldSize);
+            return true;
+        }
+
+        private void fireChanged(final int oldSize) {
+            int size = Math.max(oldSize, getSize());
+            if (size > 0) fireContentsChanged(this, 0, size - 1);
+        }
+
+        @Override
+        public int getSize() {
+            if (filter != null) return filter.length;
+            return model != null ? model.getSize() : 0;
+        }
+
+        @Override
+        public Object getElementAt(final int index) {
+            return model.getElementAt(filter != null ? filter[index] : index);
+        }
+
+        @Override
+        public void intervalAdded(final ListDataEvent e) {
+            if (filter != null) {
+                setFilter(null);
+            } else {
+                fireIntervalAdded(this, e.getIndex0(), e.getIndex1());
+            }
+        }
+
+        @Override
+        public void intervalRemoved(final ListDataEvent e) {
+            if (filter != null) {
+                setFilter(null);
+            } else {
+                fireIntervalRemoved(this, e.getIndex0(), e.getIndex1());
+            }
+        }
+
+        @Override
+        public void contentsChanged(final ListDataEvent e) {
+            /*
+             * An interval of -1 is a selection change of the combo box model, which doesn't affect the filter.
+             */
+            boolean selectionChanged = e.getIndex0() == -1 && e.getIndex1() == -1;
+            if (filter != null && !selectionChanged) {
+                setFilter(null);
+            } else {
+                fireContentsChanged(this, e.getIndex0(), e.getIndex1());
+            }
+        }
+    }
 }
@@ -41,6 +41,13 @@ import java.io.File;
 
 public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
+    /**
+     * If set to true type-ahead selection in the file list uses a prefix index of the file names, which is built in
+     * the background. The index matches against {@link File#getName()} instead of the names provided by the
+     * {@link javax.swing.filechooser.FileView}. Has to be set before the ui is installed.
+     */
+    public static final String KEY_PREFIX_INDEX = "FileChooser.prefixIndex";
+
     public DarkFileChooserUI(final JFileChooser b) {
         super(b);
     }
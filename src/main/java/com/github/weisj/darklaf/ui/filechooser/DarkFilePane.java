@@ -24,6 +24,7 @@
 package com.github.weisj.darklaf.ui.filechooser;
 
 import com.github.weisj.darklaf.components.OverlayScrollPane;
+import com.github.weisj.darklaf.ui.list.DarkListUI;
 import com.github.weisj.darklaf.ui.table.TextFieldTableCellEditorBorder;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 import sun.awt.AWTAccessor;
@@ -42,6 +43,7 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class DarkFilePane extends DarkFilePaneUIBridge {
@@ -92,6 +94,13 @@ public class DarkFilePane extends DarkFilePaneUIBridge {
         // 4835633 : tell BasicListUI that this is a file list
         list.putClientProperty("List.isFileList", Boolean.TRUE);
         list.putClientProperty("JList.fullRowSelection", fullRowSelection);
+        /*
+         * The index is built on a background thread, hence the names can't be taken from the file chooser.
+         */
+        list.putClientProperty(DarkListUI.KEY_PREFIX_INDEX_CONVERTER,
+                               (Function<Object, String>) f -> ((File) f).getName());
+        list.putClientProperty(DarkListUI.KEY_PREFIX_INDEX,
+                               Boolean.TRUE.equals(fileChooser.getClientProperty(DarkFileChooserUI.KEY_PREFIX_INDEX)));
 
         if (listViewWindowsStyle) {
             list.addFocusListener(repaintListener);
@@ -23,15 +23,151 @@
  */
 package com.github.weisj.darklaf.ui.html;
 
+import javax.swing.*;
 import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.table.TableCellRenderer;
 import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Position;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.View;
+import javax.swing.text.ViewFactory;
 import javax.swing.text.html.HTML;
+import javax.swing.tree.TreeCellRenderer;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.beans.PropertyChangeEvent;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class DarkHTML extends BasicHTML {
 
+    /**
+     * Client property to explicitly enable or disable the shared html view cache for a component. By default the cache
+     * is used for cell renderers and tooltips.
+     */
+    public static final String KEY_VIEW_CACHE = "JComponent.htmlViewCache";
+    private static final String KEY_HTML_DISABLE = "html.disable";
+    private static final int DEFAULT_VIEW_CACHE_SIZE = 256;
+
+    private static int viewCacheSize = DEFAULT_VIEW_CACHE_SIZE;
+    private static final Map<ViewKey, CachedView> viewCache = new LinkedHashMap<ViewKey, CachedView>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ViewKey, CachedView> eldest) {
+            return size() > viewCacheSize;
+        }
+    };
+    /**
+     * Installs the html view for the given text on the component. For renderer components and tooltips the view is
+     * taken from a bounded cache keyed by text, font, foreground and document base instead of parsing the html
+     * again.
+     * <p>
+     * The parsed view structure is shared between components. Each component gets its own root view, which
+     * re-attaches the shared structure when it is used and only references the component weakly. This is safe for
+     * the single threaded renderer stamp pattern, as the view is sized before each paint. The cache is only consulted
+     * on the event dispatch thread.
+     *
+     * @param c    the component.
+     * @param text the text.
+     * @see #KEY_VIEW_CACHE
+     */
+    public static void updateRenderer(final JComponent c, final String text) {
+        View oldValue = (View) c.getClientProperty(propertyKey);
+        boolean shared = oldValue instanceof HostView;
+        if (shared) {
+            c.putClientProperty(propertyKey, null);
+        }
+        if (!isViewCacheEnabled(c) || !SwingUtilities.isEventDispatchThread()) {
+            BasicHTML.updateRenderer(c, text);
+            return;
+        }
+        View value = null;
+        if (!Boolean.TRUE.equals(c.getClientProperty(KEY_HTML_DISABLE)) && isHTMLString(text)) {
+            value = getCachedView(c, text);
+        }
+        if (value != oldValue && oldValue != null && !shared) {
+            for (int i = 0; i < oldValue.getViewCount(); i++) {
+                oldValue.getView(i).setParent(null);
+            }
+        }
+        c.putClientProperty(propertyKey, value);
+    }
+
+    protected static boolean isViewCacheEnabled(final JComponent c) {
+        Object prop = c.getClientProperty(KEY_VIEW_CACHE);
+        if (prop instanceof Boolean) return (Boolean) prop;
+        return c instanceof JToolTip
+                || c instanceof TableCellRenderer
+                || c instanceof ListCellRenderer
+                || c instanceof TreeCellRenderer
+                || c.getParent() instanceof CellRendererPane;
+    }
+
+    /**
+     * Parses the html again after the scale of the component has changed, as the cached layout is only valid for the
+     * scale it was created with.
+     *
+     * @param c    the component.
+     * @param text the text.
+     */
+    public static void refreshRenderer(final JComponent c, final String text) {
+        viewCache.remove(createKey(c, text));
+        updateRenderer(c, text);
+    }
+
+    /**
+     * Returns whether the event signals a change of the graphics configuration which changes the scale of the
+     * component.
+     *
+     * @param e the event.
+     * @return true if the scale has changed.
+     */
+    public static boolean isScaleChanged(final PropertyChangeEvent e) {
+        if (!"graphicsConfiguration".equals(e.getPropertyName())) return false;
+        AffineTransform oldTransform = getTransform(e.getOldValue());
+        AffineTransform newTransform = getTransform(e.getNewValue());
+        return oldTransform.getScaleX() != newTransform.getScaleX()
+               || oldTransform.getScaleY() != newTransform.getScaleY();
+    }
+
+    private static AffineTransform getTransform(final Object gc) {
+        if (gc instanceof GraphicsConfiguration) {
+            return ((GraphicsConfiguration) gc).getDefaultTransform();
+        }
+        return new AffineTransform();
+    }
+
+    private static ViewKey createKey(final JComponent c, final String text) {
+        return new ViewKey(text, c.getFont(), c.getForeground(), c.getClientProperty(documentBaseKey));
+    }
+
+    private static View getCachedView(final JComponent c, final String text) {
+        ViewKey key = createKey(c, text);
+        CachedView cached = viewCache.get(key);
+        if (cached == null || !cached.isValid()) {
+            cached = new CachedView(createHTMLView(c, text));
+            viewCache.put(key, cached);
+        }
+        return new HostView(c, cached);
+    }
+
+    public static void setViewCacheSize(final int size) {
+        viewCacheSize = Math.max(0, size);
+        clearViewCache();
+    }
+
+    public static int getViewCacheSize() {
+        return viewCacheSize;
+    }
+
+    public static void clearViewCache() {
+        viewCache.clear();
+    }
+
     public static int getBaseline(final View view, final int w, final int h) {
         if (hasParagraph(view)) {
             view.setSize(w, h);
@@ -91,4 +227,212 @@ public class DarkHTML extends BasicHTML {
         }
         return hasParagraph(view.getView(index));
     }
+
+    private static final class ViewKey {
+        private final String text;
+        private final Font font;
+        private final Color foreground;
+        private final Object base;
+        private final int hash;
+
+        private ViewKey(final String text, final Font font, final Color foreground, final Object base) {
+            this.text = text;
+            this.font = font;
+            this.foreground = foreground;
+            this.base = base;
+            this.hash = Objects.hash(text, font, foreground, System.identityHashCode(base));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ViewKey)) return false;
+            ViewKey other = (ViewKey) o;
+            // The document base is compared by identity as URL#equals may resolve the host.
+            return hash == other.hash
+                    && base == other.base
+                    && text.equals(other.text)
+                    && Objects.equals(font, other.font)
+                    && Objects.equals(foreground, other.foreground);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CachedView {
+        private final View view;
+        private final ViewFactory factory;
+        private final float width;
+        private final float height;
+
+        /*
+         * Only the view structure below the root view created by BasicHTML is kept. The root view references the
+         * component it was created for and is dropped.
+         */
+        private CachedView(final View root) {
+            this.view = root.getView(0);
+            this.factory = root.getViewFactory();
+            this.width = view.getPreferredSpan(View.X_AXIS);
+            this.height = view.getPreferredSpan(View.Y_AXIS);
+        }
+
+        /*
+         * BasicHTML#updateRenderer detaches the child views of the replaced view. Such a view can't be reused.
+         */
+        private boolean isValid() {
+            return view.getViewCount() > 0 && view.getView(0).getParent() == view;
+        }
+    }
+
+    /*
+     * Root view of a shared view structure for a single component. Mirrors the renderer view of BasicHTML, but
+     * attaches the shared structure to itself whenever it is used and only keeps a weak reference to its host.
+     */
+    private static final class HostView extends View {
+        private final WeakReference<JComponent> host;
+        private final CachedView cached;
+        private final View view;
+        private int width;
+        private float height;
+
+        private HostView(final JComponent host, final CachedView cached) {
+            super(null);
+            this.host = new WeakReference<>(host);
+            this.cached = cached;
+            this.view = cached.view;
+            // Initially layout to the preferred size.
+            setSize(cached.width, cached.height);
+        }
+
+        /*
+         * Attaches the shared view to this host and lays it out to the size of this host, as another host may have
+         * laid it out to a different size in the meantime. Setting an unchanged size doesn't lay out the view again.
+         */
+        private View attach() {
+            return attach(width, height);
+        }
+
+        private View attach(final float w, final float h) {
+            if (view.getParent() != this) {
+                view.setParent(this);
+            }
+            view.setSize(w, h);
+            return view;
+        }
+
+        @Override
+        public AttributeSet getAttributes() {
+            return null;
+        }
+
+        @Override
+        public float getPreferredSpan(final int axis) {
+            if (axis == X_AXIS) {
+                // Width currently laid out to.
+                return width;
+            }
+            return attach().getPreferredSpan(axis);
+        }
+
+        @Override
+        public float getMinimumSpan(final int axis) {
+            return attach().getMinimumSpan(axis);
+        }
+
+        @Override
+        public float getMaximumSpan(final int axis) {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void preferenceChanged(final View child, final boolean width, final boolean height) {
+            JComponent c = host.get();
+            if (c != null) {
+                c.revalidate();
+                c.repaint();
+            }
+        }
+
+        @Override
+        public float getAlignment(final int axis) {
+            return attach().getAlignment(axis);
+        }
+
+        @Override
+        public void paint(final Graphics g, final Shape allocation) {
+            Rectangle alloc = allocation.getBounds();
+            attach(alloc.width, alloc.height).paint(g, allocation);
+        }
+
+        @Override
+        public void setParent(final View parent) {
+            throw new Error("Can't set parent on root view");
+        }
+
+        @Override
+        public int getViewCount() {
+            return 1;
+        }
+
+        @Override
+        public View getView(final int n) {
+            return attach();
+        }
+
+        @Override
+        public Shape modelToView(final int pos, final Shape a, final Position.Bias b) throws BadLocationException {
+            return attach().modelToView(pos, a, b);
+        }
+
+        @Override
+        public Shape modelToView(final int p0, final Position.Bias b0, final int p1,
+                                 final Position.Bias b1, final Shape a) throws BadLocationException {
+            return attach().modelToView(p0, b0, p1, b1, a);
+        }
+
+        @Override
+        public int viewToModel(final float x, final float y, final Shape a, final Position.Bias[] bias) {
+            return attach().viewToModel(x, y, a, bias);
+        }
+
+        @Override
+        public Document getDocument() {
+            return view.getDocument();
+        }
+
+        @Override
+        public int getStartOffset() {
+            return view.getStartOffset();
+        }
+
+        @Override
+        public int getEndOffset() {
+            return view.getEndOffset();
+        }
+
+        @Override
+        public Element getElement() {
+            return view.getElement();
+        }
+
+        @Override
+        public void setSize(final float width, final float height) {
+            this.width = (int) width;
+            this.height = height;
+            attach(width, height);
+        }
+
+        @Override
+        public Container getContainer() {
+            return host.get();
+        }
+
+        @Override
+        public ViewFactory getViewFactory() {
+            return cached.factory;
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.internalframe;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.plaf.UIResource;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Desktop manager which can drag and resize internal frames without touching the frame until the operation is done.
+ * Depending on {@link DarkDesktopPaneUI#KEY_DRAG_MODE} a snapshot of the frame or its outline is painted while
+ * dragging. Resizing always paints the outline. The real bounds are committed once when the mouse is released.
+ *
+ * @author Jannis Weis
+ */
+public class DarkDesktopManager extends DefaultDesktopManager implements UIResource {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DragGhost ghost = new DragGhost();
+    private JInternalFrame draggedFrame;
+    private Rectangle startBounds;
+    private boolean dragging;
+    private long avoidedRepaints;
+
+    /**
+     * Returns the number of mouse events during drag or resize operations which were handled by the snapshot or
+     * outline instead of moving the frame. Each of these would have caused the frame to be repainted.
+     *
+     * @return the number of avoided repaints.
+     */
+    public long getAvoidedRepaintCount() {
+        return avoidedRepaints;
+    }
+
+    public void resetAvoidedRepaintCount() {
+        avoidedRepaints = 0;
+    }
+
+    @Override
+    public void beginDraggingFrame(final JComponent f) {
+        String mode = getDragMode(f);
+        if (mode == null) {
+            super.beginDraggingFrame(f);
+            return;
+        }
+        begin((JInternalFrame) f, DarkDesktopPaneUI.DRAG_MODE_SNAPSHOT.equals(mode));
+    }
+
+    @Override
+    public void dragFrame(final JComponent f, final int newX, final int newY) {
+        if (f != draggedFrame) {
+            super.dragFrame(f, newX, newY);
+            return;
+        }
+        update(newX, newY, f.getWidth(), f.getHeight());
+    }
+
+    @Override
+    public void endDraggingFrame(final JComponent f) {
+        if (f != draggedFrame) {
+            super.endDraggingFrame(f);
+            return;
+        }
+        end();
+    }
+
+    @Override
+    public void beginResizingFrame(final JComponent f, final int direction) {
+        if (getDragMode(f) == null) {
+            super.beginResizingFrame(f, direction);
+            return;
+        }
+        begin((JInternalFrame) f, false);
+    }
+
+    @Override
+    public void resizeFrame(final JComponent f, final int newX, final int newY,
+                            final int newWidth, final int newHeight) {
+        if (f != draggedFrame) {
+            super.resizeFrame(f, newX, newY, newWidth, newHeight);
+            return;
+        }
+        update(newX, newY, newWidth, newHeight);
+    }
+
+    @Override
+    public void endResizingFrame(final JComponent f) {
+        if (f != draggedFrame) {
+            super.endResizingFrame(f);
+            return;
+        }
+        end();
+    }
+
+    protected String getDragMode(final JComponent f) {
+        if (!(f instanceof JInternalFrame) || ((JInternalFrame) f).isMaximum()) return null;
+        if (!(f.getParent() instanceof JDesktopPane)) return null;
+        JDesktopPane desktop = (JDesktopPane) f.getParent();
+        Object mode = desktop.getClientProperty(DarkDesktopPaneUI.KEY_DRAG_MODE);
+        if (DarkDesktopPaneUI.DRAG_MODE_SNAPSHOT.equals(mode) || DarkDesktopPaneUI.DRAG_MODE_OUTLINE.equals(mode)) {
+            return (String) mode;
+        }
+        if (mode == null && desktop.getDragMode() == JDesktopPane.OUTLINE_DRAG_MODE) {
+            return DarkDesktopPaneUI.DRAG_MODE_OUTLINE;
+        }
+        return null;
+    }
+
+    private void begin(final JInternalFrame f, final boolean snapshot) {
+        draggedFrame = f;
+        dragging = false;
+        startBounds = f.getBounds();
+        ghost.frame = f;
+        ghost.image = snapshot ? createSnapshot(f) : null;
+    }
+
+    private void update(final int x, final int y, final int width, final int height) {
+        if (!dragging) {
+            dragging = true;
+            ghost.setBounds(startBounds);
+            draggedFrame.getParent().add(ghost, JLayeredPane.DRAG_LAYER);
+            if (ghost.image != null) {
+                // Move the frame out of sight. Its size doesn't change, hence it doesn't need to be laid out again.
+                draggedFrame.setLocation(-startBounds.width - 1, -startBounds.height - 1);
+            }
+        }
+        ghost.setBounds(x, y, width, height);
+        avoidedRepaints++;
+    }
+
+    private void end() {
+        JInternalFrame f = draggedFrame;
+        draggedFrame = null;
+        if (dragging) {
+            Rectangle bounds = ghost.getBounds();
+            Container desktop = ghost.getParent();
+            if (desktop != null) {
+                desktop.remove(ghost);
+                desktop.repaint(bounds.x, bounds.y, bounds.width, bounds.height);
+            }
+            setBoundsForFrame(f, bounds.x, bounds.y, bounds.width, bounds.height);
+        }
+        ghost.frame = null;
+        ghost.image = null;
+        startBounds = null;
+        dragging = false;
+    }
+
+    protected BufferedImage createSnapshot(final JInternalFrame f) {
+        int width = f.getWidth();
+        int height = f.getHeight();
+        if (width <= 0 || height <= 0) return null;
+        GraphicsConfiguration gc = f.getGraphicsConfiguration();
+        AffineTransform at = gc != null ? gc.getDefaultTransform() : new AffineTransform();
+        double sx = at.getScaleX();
+        double sy = at.getScaleY();
+        BufferedImage image = new BufferedImage((int) Math.ceil(width * sx), (int) Math.ceil(height * sy),
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(sx, sy);
+            f.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static final class DragGhost extends JComponent {
+
+        private static final long serialVersionUID = 1L;
+
+        private JInternalFrame frame;
+        private BufferedImage image;
+
+        private DragGhost() {
+            setOpaque(false);
+            setFocusable(false);
+        }
+
+        @Override
+        public boolean contains(final int x, final int y) {
+            return false;
+        }
+
+        @Override
+        protected void paintComponent(final Graphics g) {
+            int width = getWidth();
+            int height = getHeight();
+            if (image != null) {
+                g.drawImage(image, 0, 0, width, height, null);
+                return;
+            }
+            if (frame == null) return;
+            Border border = frame.getBorder();
+            Insets ins = new Insets(0, 0, 0, 0);
+            if (border instanceof DarkInternalFrameBorder) {
+                border.paintBorder(frame, g, 0, 0, width, height);
+                ins = border.getBorderInsets(frame);
+            }
+            g.setColor(UIManager.getColor("InternalFrame.dragOutlineColor"));
+            g.drawRect(ins.left, ins.top, width - ins.left - ins.right - 1, height - ins.top - ins.bottom - 1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.internalframe;
+
+import javax.swing.*;
+import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicDesktopPaneUI;
+
+/**
+ * @author Jannis Weis
+ */
+public class DarkDesktopPaneUI extends BasicDesktopPaneUI {
+
+    /**
+     * Client property of the {@link JDesktopPane} which selects how internal frames are dragged and resized. This is
+     * the same property {@link DefaultDesktopManager} reads. Additionally to the values known to Swing the {@link
+     * DarkDesktopManager} understands {@link #DRAG_MODE_SNAPSHOT} and paints {@link #DRAG_MODE_OUTLINE} using the
+     * frame border.
+     */
+    public static final String KEY_DRAG_MODE = "JDesktopPane.dragMode";
+    /**
+     * Drag a snapshot of the frame. The frame is hidden while dragging and moved once the drag ends.
+     */
+    public static final String DRAG_MODE_SNAPSHOT = "snapshot";
+    /**
+     * Drag an outline of the frame. The frame stays in place until the drag ends.
+     */
+    public static final String DRAG_MODE_OUTLINE = "outline";
+
+    public static ComponentUI createUI(final JComponent c) {
+        return new DarkDesktopPaneUI();
+    }
+
+    @Override
+    protected void installDesktopManager() {
+        desktopManager = desktop.getDesktopManager();
+        if (desktopManager == null) {
+            desktopManager = new DarkDesktopManager();
+            desktop.setDesktopManager(desktopManager);
+        }
+    }
+}
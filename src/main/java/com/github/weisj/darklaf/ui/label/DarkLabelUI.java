@@ -23,6 +23,7 @@
  */
 package com.github.weisj.darklaf.ui.label;
 
+import com.github.weisj.darklaf.ui.html.DarkHTML;
 import com.github.weisj.darklaf.util.GraphicsContext;
 import com.github.weisj.darklaf.util.GraphicsUtil;
 
@@ -30,6 +31,7 @@ import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicLabelUI;
 import java.awt.*;
+import java.beans.PropertyChangeEvent;
 
 /**
  * @author Jannis Weis
@@ -49,4 +51,29 @@ public class DarkLabelUI extends BasicLabelUI {
         super.paint(g, c);
         config.restore();
     }
+
+    @Override
+    protected void installComponents(final JLabel c) {
+        DarkHTML.updateRenderer(c, c.getText());
+        c.setInheritsPopupMenu(true);
+    }
+
+    @Override
+    protected void uninstallComponents(final JLabel c) {
+        DarkHTML.updateRenderer(c, "");
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent e) {
+        String name = e.getPropertyName();
+        if ("text".equals(name) || "font".equals(name) || "foreground".equals(name)) {
+            JLabel label = (JLabel) e.getSource();
+            DarkHTML.updateRenderer(label, label.getText());
+        } else if (DarkHTML.isScaleChanged(e)) {
+            JLabel label = (JLabel) e.getSource();
+            DarkHTML.refreshRenderer(label, label.getText());
+        } else {
+            super.propertyChange(e);
+        }
+    }
 }
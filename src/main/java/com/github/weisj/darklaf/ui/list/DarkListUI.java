@@ -23,19 +23,52 @@
  */
 package com.github.weisj.darklaf.ui.list;
 
+import com.github.weisj.darklaf.ui.cell.CellImageCache;
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.ListModelIndex;
+import com.github.weisj.darklaf.util.PrefixIndex;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Function;
 
 /**
  * @author Jannis Weis
  */
 public class DarkListUI extends DarkListUIBridge {
 
+    /**
+     * If set to true the cell sizes are estimated from a bounded sample of the model. Cells are measured lazily once
+     * they are painted.
+     */
+    public static final String KEY_LARGE_MODEL = "JList.isLargeModel";
+    /**
+     * If set to true type-ahead selection uses a sorted prefix index of the list elements, which is built in the
+     * background and updated when the model changes. The string value of an element is determined by the function
+     * set for {@link #KEY_PREFIX_INDEX_CONVERTER} or {@link Object#toString()} if there is none.
+     * <p>
+     * Only enable this if {@link JList#getNextMatch(String, int, javax.swing.text.Position.Bias)} isn't customized or
+     * the converter reproduces its behaviour.
+     */
+    public static final String KEY_PREFIX_INDEX = "JList.prefixIndex";
+    public static final String KEY_PREFIX_INDEX_CONVERTER = "JList.prefixIndexConverter";
+    /**
+     * If set to true the rendered cells are cached as images by a {@link CellImageCache}. Only use this for renderers
+     * that are expensive to paint and only depend on the element and the cell state.
+     */
+    public static final String KEY_CELL_IMAGE_CACHE = "JList.cellImageCache";
+    private static final int CELL_SELECTED = 1;
+    private static final int CELL_FOCUSED = 1 << 1;
+    private static final int LIST_FOCUSED = 1 << 2;
+    private static final int ENABLED = 1 << 3;
+    protected static final int SIZE_SAMPLE_COUNT = 100;
+
     static {
         UIManager.put("List.cellRenderer", new DarkListCellRenderer());
     }
@@ -45,6 +78,161 @@ public class DarkListUI extends DarkListUIBridge {
         return new DarkListUI();
     }
 
+    /*
+     * Cells whose height has been measured. Only used for large models.
+     */
+    private BitSet measuredCells;
+    private ListModelIndex prefixIndex;
+    private CellImageCache cellImageCache;
+
+    public static boolean isLargeModel(final JList<?> list) {
+        return Boolean.TRUE.equals(list.getClientProperty(KEY_LARGE_MODEL));
+    }
+
+    @Override
+    protected void installListeners() {
+        super.installListeners();
+        updatePrefixIndex();
+        updateCellImageCache();
+    }
+
+    @Override
+    protected void uninstallListeners() {
+        super.uninstallListeners();
+        if (prefixIndex != null) {
+            prefixIndex.setModel(null);
+            prefixIndex = null;
+        }
+        cellImageCache = null;
+    }
+
+    protected void updateCellImageCache() {
+        if (Boolean.TRUE.equals(list.getClientProperty(KEY_CELL_IMAGE_CACHE))) {
+            if (cellImageCache == null) cellImageCache = new CellImageCache();
+        } else {
+            cellImageCache = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void updatePrefixIndex() {
+        if (prefixIndex != null) {
+            prefixIndex.setModel(null);
+            prefixIndex = null;
+        }
+        if (Boolean.TRUE.equals(list.getClientProperty(KEY_PREFIX_INDEX))) {
+            Object converter = list.getClientProperty(KEY_PREFIX_INDEX_CONVERTER);
+            prefixIndex = new ListModelIndex(converter instanceof Function
+                                             ? (Function<Object, String>) converter
+                                             : ListModelIndex::toString);
+            prefixIndex.setModel(list.getModel());
+        }
+    }
+
+    @Override
+    protected int getNextMatch(final JList<?> list, final String prefix, final int startIndex) {
+        PrefixIndex index = prefixIndex != null ? prefixIndex.getIndex() : null;
+        if (index == null || index.size() != list.getModel().getSize()) {
+            return super.getNextMatch(list, prefix, startIndex);
+        }
+        return index.nextMatch(prefix, startIndex);
+    }
+
+    @Override
+    protected void updateLayoutState() {
+        int fixedCellHeight = list.getFixedCellHeight();
+        int fixedCellWidth = list.getFixedCellWidth();
+        ListCellRenderer<Object> renderer = list.getCellRenderer();
+        if (!isLargeModel(list) || renderer == null || (fixedCellWidth != -1 && fixedCellHeight != -1)) {
+            measuredCells = null;
+            super.updateLayoutState();
+            return;
+        }
+        ListModel<Object> dataModel = list.getModel();
+        int size = dataModel.getSize();
+        int step = Math.max(1, size / SIZE_SAMPLE_COUNT);
+        int sampleCount = 0;
+        int heightSum = 0;
+        int[] heights = fixedCellHeight == -1 ? new int[size] : null;
+        measuredCells = fixedCellHeight == -1 ? new BitSet(size) : null;
+        cellWidth = fixedCellWidth;
+        for (int index = 0; index < size; index += step) {
+            Dimension cellSize = measureCell(renderer, dataModel, index);
+            if (fixedCellWidth == -1) {
+                cellWidth = Math.max(cellSize.width, cellWidth);
+            }
+            if (heights != null) {
+                heights[index] = cellSize.height;
+                measuredCells.set(index);
+                heightSum += cellSize.height;
+                sampleCount++;
+            }
+        }
+        if (heights != null) {
+            int estimate = sampleCount > 0 ? Math.round(heightSum / (float) sampleCount) : 0;
+            for (int index = 0; index < size; index++) {
+                if (!measuredCells.get(index)) {
+                    heights[index] = estimate;
+                }
+            }
+            cellHeight = -1;
+        } else {
+            cellHeight = fixedCellHeight;
+        }
+        if (cellWidth == -1) {
+            cellWidth = 0;
+        }
+        cellHeights = heights;
+
+        columnCount = 1;
+        if (layoutOrientation != JList.VERTICAL) {
+            updateHorizontalLayoutState(fixedCellWidth, fixedCellHeight);
+        }
+        if (cellHeights == null) {
+            measuredCells = null;
+        }
+        invalidateCellOffsets(0);
+    }
+
+    protected Dimension measureCell(final ListCellRenderer<Object> renderer, final ListModel<Object> dataModel,
+                                    final int index) {
+        Object value = dataModel.getElementAt(index);
+        Component c = renderer.getListCellRendererComponent(list, value, index, false, false);
+        rendererPane.add(c);
+        return c.getPreferredSize();
+    }
+
+    /*
+     * Measure the cells in the given range that only have an estimated size.
+     * Returns true if the layout of the list has changed.
+     */
+    protected boolean measureCells(final int startRow, final int startY, final int maxY) {
+        if (measuredCells == null || cellHeights == null) return false;
+        ListCellRenderer<Object> renderer = list.getCellRenderer();
+        ListModel<Object> dataModel = list.getModel();
+        int size = Math.min(dataModel.getSize(), cellHeights.length);
+        boolean widthChanged = false;
+        boolean heightChanged = false;
+        int y = startY;
+        for (int row = Math.max(0, startRow); row < size && y < maxY; row++) {
+            if (!measuredCells.get(row)) {
+                measuredCells.set(row);
+                Dimension cellSize = measureCell(renderer, dataModel, row);
+                if (list.getFixedCellWidth() == -1 && cellSize.width > cellWidth) {
+                    cellWidth = cellSize.width;
+                    widthChanged = true;
+                }
+                if (cellSize.height != cellHeights[row]) {
+                    cellHeights[row] = cellSize.height;
+                    invalidateCellOffsets(row);
+                    heightChanged = true;
+                }
+            }
+            y += cellHeights[row];
+        }
+        return widthChanged || heightChanged;
+    }
+
     @Override
     protected void installDefaults() {
         super.installDefaults();
@@ -86,9 +274,25 @@ public class DarkListUI extends DarkListUIBridge {
             return;
         }
 
+        if (cellImageCache != null) {
+            cellImageCache.validate(Arrays.asList(list.getBackground(), list.getForeground(),
+                                                  list.getSelectionBackground(), list.getSelectionForeground(),
+                                                  list.getFont(), layoutOrientation,
+                                                  list.getComponentOrientation().isLeftToRight(),
+                                                  list.getClientProperty("JList.alternateRowColor")));
+        }
+
         // Determine how many columns we need to paint
         Rectangle paintBounds = g.getClipBounds();
 
+        if (measuredCells != null && layoutOrientation == JList.VERTICAL) {
+            int startRow = convertLocationToRow(0, paintBounds.y, true);
+            int startY = list.getInsets().top + getCellOffset(startRow);
+            if (measureCells(startRow, startY, paintBounds.y + paintBounds.height)) {
+                list.revalidate();
+            }
+        }
+
         int startColumn, endColumn;
         if (c.getComponentOrientation().isLeftToRight()) {
             startColumn = convertLocationToColumn(paintBounds.x,
@@ -162,10 +366,25 @@ public class DarkListUI extends DarkListUIBridge {
             g.fillRect(cx, cy, cw, ch);
             g.setColor(c);
         } else {
+            boolean shrinkWrap = Boolean.TRUE.equals(list.getClientProperty("JList.shrinkWrap"));
+            boolean cached = cellImageCache != null && !shrinkWrap && !list.isPaintingForPrint()
+                    && list.getDropLocation() == null;
+            long key = CellImageCache.key(index, 0);
+            int state = (isSelected ? CELL_SELECTED : 0)
+                    | (cellHasFocus ? CELL_FOCUSED : 0)
+                    | (list.hasFocus() ? LIST_FOCUSED : 0)
+                    | (list.isEnabled() ? ENABLED : 0);
+            if (cached && cellImageCache.paintCached(g, key, value, state, rowBounds)) return;
+
             Component rendererComponent =
                     cellRenderer.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
 
-            if (Boolean.TRUE.equals(list.getClientProperty("JList.shrinkWrap"))) {
+            if (cached) {
+                cellImageCache.paintAndCache(g, rendererPane, rendererComponent, list, key, value, state, rowBounds);
+                return;
+            }
+
+            if (shrinkWrap) {
                 // Shrink renderer to preferred size. This is mostly used on Windows
                 // where selection is only shown around the file name, instead of
                 // across the whole list cell.
@@ -188,7 +407,44 @@ public class DarkListUI extends DarkListUIBridge {
             String key = e.getPropertyName();
             if ("JList.alternateRowColor".equals(key)) {
                 list.repaint();
+            } else if (KEY_LARGE_MODEL.equals(key)) {
+                updateLayoutStateNeeded |= modelChanged;
+                redrawList();
+            } else if (KEY_PREFIX_INDEX.equals(key) || KEY_PREFIX_INDEX_CONVERTER.equals(key)) {
+                updatePrefixIndex();
+            } else if (KEY_CELL_IMAGE_CACHE.equals(key)) {
+                updateCellImageCache();
+                list.repaint();
+            } else if ("model".equals(key)) {
+                if (prefixIndex != null) prefixIndex.setModel(list.getModel());
+                if (cellImageCache != null) cellImageCache.clear();
+            }
+        }
+
+        @Override
+        public void intervalAdded(final ListDataEvent e) {
+            if (cellImageCache != null) cellImageCache.clear();
+            super.intervalAdded(e);
+        }
+
+        @Override
+        public void intervalRemoved(final ListDataEvent e) {
+            if (cellImageCache != null) cellImageCache.clear();
+            super.intervalRemoved(e);
+        }
+
+        @Override
+        public void contentsChanged(final ListDataEvent e) {
+            if (cellImageCache != null) {
+                int first = Math.min(e.getIndex0(), e.getIndex1());
+                int last = Math.max(e.getIndex0(), e.getIndex1());
+                if (first >= 0) {
+                    cellImageCache.invalidateRows(first, last);
+                } else {
+                    cellImageCache.clear();
+                }
             }
+            super.contentsChanged(e);
         }
 
         @Override
@@ -183,6 +183,14 @@ public class DarkListUIBridge extends BasicListUI {
      * The array of cells' height
      */
     protected int[] cellHeights = null;
+    /**
+     * The prefix sums of {@link #cellHeights}. Only the first {@link #validCellOffsets} entries are valid.
+     */
+    protected int[] cellOffsets = null;
+    /**
+     * The number of valid entries in {@link #cellOffsets}.
+     */
+    protected int validCellOffsets;
     /**
      * The height of cell.
      */
@@ -811,6 +819,7 @@ public class DarkListUIBridge extends BasicListUI {
 
         cellWidth = cellHeight = -1;
         cellHeights = null;
+        cellOffsets = null;
 
         listWidth = listHeight = -1;
 
@@ -842,6 +851,19 @@ public class DarkListUIBridge extends BasicListUI {
         return null;
     }
 
+    /**
+     * Returns the next list element whose string value starts with the given prefix. Used for type-ahead selection.
+     *
+     * @param list       the list.
+     * @param prefix     the prefix.
+     * @param startIndex the index to start searching at.
+     * @return the index of the next matching element or -1.
+     * @see JList#getNextMatch(String, int, Position.Bias)
+     */
+    protected int getNextMatch(final JList<?> list, final String prefix, final int startIndex) {
+        return list.getNextMatch(prefix, startIndex, Position.Bias.Forward);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1008,6 +1030,40 @@ public class DarkListUIBridge extends BasicListUI {
         if (layoutOrientation != JList.VERTICAL) {
             updateHorizontalLayoutState(fixedCellWidth, fixedCellHeight);
         }
+        invalidateCellOffsets(0);
+    }
+
+    /**
+     * Marks the offsets of all rows after the given row as invalid. This has to be called after an entry of {@link
+     * #cellHeights} has changed.
+     *
+     * @param row the row whose height has changed.
+     */
+    protected void invalidateCellOffsets(final int row) {
+        validCellOffsets = Math.max(0, Math.min(validCellOffsets, row + 1));
+    }
+
+    /**
+     * Returns the sum of the heights of all rows before the given row. The offsets are computed lazily up to the
+     * requested row.
+     *
+     * @param row the row. Must be in the range [0, cellHeights.length].
+     * @return the offset of the row.
+     */
+    protected int getCellOffset(final int row) {
+        if (cellOffsets == null || cellOffsets.length != cellHeights.length + 1) {
+            cellOffsets = new int[cellHeights.length + 1];
+            validCellOffsets = 0;
+        }
+        if (validCellOffsets == 0) {
+            cellOffsets[0] = 0;
+            validCellOffsets = 1;
+        }
+        for (int i = validCellOffsets; i <= row; i++) {
+            cellOffsets[i] = cellOffsets[i - 1] + cellHeights[i - 1];
+        }
+        validCellOffsets = Math.max(validCellOffsets, row + 1);
+        return cellOffsets[row];
     }
 
     /**
@@ -1153,21 +1209,25 @@ public class DarkListUIBridge extends BasicListUI {
         } else if (size > cellHeights.length) {
             return -1;
         } else {
-            int y = insets.top;
-            int row = 0;
-
-            if (closest && y0 < y) {
-                return 0;
-            }
-            int i;
-            for (i = 0; i < size; i++) {
-                if ((y0 >= y) && (y0 < y + cellHeights[i])) {
-                    return row;
+            int y = y0 - insets.top;
+            if (y < 0) {
+                return closest ? 0 : size - 1;
+            }
+            if (y >= getCellOffset(size)) {
+                return size - 1;
+            }
+            // Find the first row whose end lies after y.
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cellOffsets[mid + 1] > y) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
                 }
-                y += cellHeights[i];
-                row += 1;
             }
-            return i - 1;
+            return low;
         }
     }
 
@@ -1696,9 +1756,7 @@ public class DarkListUIBridge extends BasicListUI {
                 } else if (row >= cellHeights.length) {
                     y = 0;
                 } else {
-                    for (int i = 0; i < row; i++) {
-                        y += cellHeights[i];
-                    }
+                    y += getCellOffset(row);
                 }
                 w = list.getWidth() - (insets.left + insets.right);
                 h = getRowHeight(index);
@@ -2605,14 +2663,12 @@ public class DarkListUIBridge extends BasicListUI {
                 startingFromSelection = false;
                 startIndex = 0;
             }
-            int index = src.getNextMatch(prefix, startIndex,
-                                         Position.Bias.Forward);
+            int index = getNextMatch(src, prefix, startIndex);
             if (index >= 0) {
                 src.setSelectedIndex(index);
                 src.ensureIndexIsVisible(index);
             } else if (startingFromSelection) { // wrap
-                index = src.getNextMatch(prefix, 0,
-                                         Position.Bias.Forward);
+                index = getNextMatch(src, prefix, 0);
                 if (index >= 0) {
                     src.setSelectedIndex(index);
                     src.ensureIndexIsVisible(index);
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.popupmenu;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Popup factory which records how long it takes to show a popup. Heavy weight popup windows are recycled per owner
+ * window by {@link PopupFactory}, hence menus and tooltips share them.
+ * <p>
+ * Swing components configure the popup type directly on the shared factory, so this factory has to be a subclass
+ * instead of delegating to the previous one. If a custom factory is installed it is left untouched.
+ *
+ * @author Jannis Weis
+ */
+public class DarkPopupFactory extends PopupFactory {
+
+    private static long showCount;
+    private static long totalShowNanos;
+    private static long maxShowNanos;
+
+    private final PopupFactory previous;
+
+    protected DarkPopupFactory(final PopupFactory previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Install the factory as the shared popup factory.
+     */
+    public static void install() {
+        PopupFactory factory = PopupFactory.getSharedInstance();
+        if (factory.getClass() == PopupFactory.class) {
+            PopupFactory.setSharedInstance(new DarkPopupFactory(factory));
+        }
+    }
+
+    /**
+     * Restore the popup factory that was installed before {@link #install()}.
+     */
+    public static void uninstall() {
+        PopupFactory factory = PopupFactory.getSharedInstance();
+        if (factory instanceof DarkPopupFactory) {
+            PopupFactory.setSharedInstance(((DarkPopupFactory) factory).previous);
+        }
+    }
+
+    @Override
+    public Popup getPopup(final Component owner, final Component contents,
+                          final int x, final int y) throws IllegalArgumentException {
+        long start = System.nanoTime();
+        Popup popup = super.getPopup(owner, contents, x, y);
+        return new MeasuredPopup(popup, System.nanoTime() - start);
+    }
+
+    /**
+     * Record the time it took to show a popup. The time should include the creation or lookup of the popup window.
+     *
+     * @param nanos the time in nanoseconds.
+     */
+    public static void recordShowLatency(final long nanos) {
+        showCount++;
+        totalShowNanos += nanos;
+        maxShowNanos = Math.max(maxShowNanos, nanos);
+    }
+
+    public static long getShowCount() {
+        return showCount;
+    }
+
+    /**
+     * Returns the average time it took to show a popup.
+     *
+     * @return the average latency in nanoseconds.
+     */
+    public static long getAverageShowLatency() {
+        return showCount > 0 ? totalShowNanos / showCount : 0;
+    }
+
+    /**
+     * Returns the longest time it took to show a popup.
+     *
+     * @return the maximum latency in nanoseconds.
+     */
+    public static long getMaxShowLatency() {
+        return maxShowNanos;
+    }
+
+    public static void resetShowLatency() {
+        showCount = 0;
+        totalShowNanos = 0;
+        maxShowNanos = 0;
+    }
+
+    private static final class MeasuredPopup extends Popup {
+
+        private final Popup popup;
+        private long setupNanos;
+
+        private MeasuredPopup(final Popup popup, final long setupNanos) {
+            this.popup = popup;
+            this.setupNanos = setupNanos;
+        }
+
+        @Override
+        public void show() {
+            long start = System.nanoTime();
+            popup.show();
+            recordShowLatency(setupNanos + System.nanoTime() - start);
+            setupNanos = 0;
+        }
+
+        @Override
+        public void hide() {
+            popup.hide();
+        }
+    }
+}
@@ -30,6 +30,8 @@ import sun.awt.SunToolkit;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicPopupMenuUI;
 import java.applet.Applet;
@@ -60,7 +62,11 @@ public class DarkPopupMenuUI extends BasicPopupMenuUI {
             "doNotCancelPopup"));
     public static final StringBuilder MOUSE_GRABBER_KEY = new StringBuilder(
             "javax.swing.plaf.basic.BasicPopupMenuUI.MouseGrabber");
+    private static final StringBuilder DISABLED_GRABBER_KEY = new StringBuilder(
+            "DarkPopupMenuUI.disabledMouseGrabber");
+    private static Object basicMouseGrabberKey;
 
+    protected PopupMenuListener grabberInstaller;
 
     public static ComponentUI createUI(final JComponent x) {
         return new DarkPopupMenuUI();
@@ -84,6 +90,45 @@ public class DarkPopupMenuUI extends BasicPopupMenuUI {
     protected void installListeners() {
         super.installListeners();
         removeOldMouseGrabber();
+        if (grabberInstaller == null) {
+            grabberInstaller = createGrabberInstaller();
+        }
+        popupMenu.addPopupMenuListener(grabberInstaller);
+    }
+
+    @Override
+    protected void uninstallListeners() {
+        super.uninstallListeners();
+        popupMenu.removePopupMenuListener(grabberInstaller);
+    }
+
+    /**
+     * The mouse grabber is only needed once a popup is shown. It is installed lazily on the first show.
+     *
+     * @return the listener installing the mouse grabber.
+     */
+    protected PopupMenuListener createGrabberInstaller() {
+        return new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(final PopupMenuEvent e) {
+                installMouseGrabber();
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(final PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(final PopupMenuEvent e) {
+            }
+        };
+    }
+
+    /**
+     * Install the mouse grabber for the current AppContext if there isn't one already. If a path is selected in the
+     * {@link MenuSelectionManager} the grab is started immediately.
+     */
+    public static void installMouseGrabber() {
         AppContext context = AppContext.getAppContext();
         synchronized (MOUSE_GRABBER_KEY) {
             MouseGrabber mouseGrabber = (MouseGrabber) context.get(
@@ -96,28 +141,47 @@ public class DarkPopupMenuUI extends BasicPopupMenuUI {
     }
 
     /**
-     * This Method is responsible for removing the old MouseGrabber from the AppContext, to be able to add our own
+     * This Method is responsible for disabling the old MouseGrabber of the AppContext, to be able to add our own
      * implementation for it that is a bit more generous with closing the popup.
+     * <p>
+     * The disabled grabber stays registered, so BasicPopupMenuUI doesn't create a new one for every popup menu.
      */
     private void removeOldMouseGrabber() {
-        Object oldLogger = ReflectionUtil.changeIllegalAccessLogger(null);
         AppContext context = AppContext.getAppContext();
-        try {
-            Field field = BasicPopupMenuUI.class.getDeclaredField("MOUSE_GRABBER_KEY");
-            field.setAccessible(true);
-            Object value = field.get(null);
-            Object mouseGrabber = context.get(value);
-            if (mouseGrabber != null) {
+        synchronized (DISABLED_GRABBER_KEY) {
+            Object key = getBasicMouseGrabberKey();
+            if (key == null) return;
+            Object mouseGrabber = context.get(key);
+            if (mouseGrabber == null || mouseGrabber == context.get(DISABLED_GRABBER_KEY)) return;
+            Object oldLogger = ReflectionUtil.changeIllegalAccessLogger(null);
+            try {
                 Method method = mouseGrabber.getClass().getDeclaredMethod("uninstall");
                 method.setAccessible(true);
                 method.invoke(mouseGrabber);
+                context.put(key, mouseGrabber);
+                context.put(DISABLED_GRABBER_KEY, mouseGrabber);
+            } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+                e.printStackTrace();
+            } finally {
+                ReflectionUtil.changeIllegalAccessLogger(oldLogger);
+            }
+        }
+    }
+
+    private static Object getBasicMouseGrabberKey() {
+        if (basicMouseGrabberKey == null) {
+            Object oldLogger = ReflectionUtil.changeIllegalAccessLogger(null);
+            try {
+                Field field = BasicPopupMenuUI.class.getDeclaredField("MOUSE_GRABBER_KEY");
+                field.setAccessible(true);
+                basicMouseGrabberKey = field.get(null);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                e.printStackTrace();
+            } finally {
+                ReflectionUtil.changeIllegalAccessLogger(oldLogger);
             }
-            context.put(value, null);
-        } catch (NoSuchFieldException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-        } finally {
-            ReflectionUtil.changeIllegalAccessLogger(oldLogger);
         }
+        return basicMouseGrabberKey;
     }
 
     public static class MouseGrabber implements ChangeListener,
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.popupmenu;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of popup windows per owner window. Windows returned to the pool keep their native peer, hence showing a popup
+ * again doesn't have to create and set up a new window. The pool of an owner lives in the client properties of its
+ * root pane and is released together with it.
+ *
+ * @author Jannis Weis
+ */
+public final class PopupWindowPool {
+
+    private static final String KEY_POOL = "PopupWindowPool.pool";
+    private static final String KEY_CONTENT_PANE = "PopupWindowPool.contentPane";
+    private static final int MAX_POOLED_WINDOWS = 3;
+
+    private static long createdWindows;
+    private static long reusedWindows;
+
+    private PopupWindowPool() {
+    }
+
+    /**
+     * Get a popup window for the given owner. If the pool of the owner is empty a new window is created. The
+     * background of the window follows the popup menu background of the current theme.
+     *
+     * @param owner the owner window. May be null.
+     * @return the popup window.
+     */
+    public static JWindow getWindow(final Window owner) {
+        Deque<JWindow> pool = getPool(owner);
+        JWindow window = pool != null ? pool.pollFirst() : null;
+        if (window != null) {
+            reusedWindows++;
+        } else {
+            createdWindows++;
+            window = new JWindow(owner);
+            window.getRootPane().putClientProperty(KEY_CONTENT_PANE, window.getContentPane());
+        }
+        Color background = UIManager.getColor("PopupMenu.background");
+        if (background != null) {
+            window.setBackground(background);
+        }
+        return window;
+    }
+
+    /**
+     * Hide the window and return it to the pool of its owner. Windows which can't be pooled are disposed.
+     *
+     * @param window the window.
+     */
+    public static void releaseWindow(final JWindow window) {
+        if (window == null) return;
+        window.setVisible(false);
+        Object contentPane = window.getRootPane().getClientProperty(KEY_CONTENT_PANE);
+        if (contentPane instanceof Container && window.getContentPane() != contentPane) {
+            window.setContentPane((Container) contentPane);
+        }
+        Deque<JWindow> pool = getPool(window.getOwner());
+        if (pool == null || pool.size() >= MAX_POOLED_WINDOWS) {
+            window.dispose();
+        } else if (!pool.contains(window)) {
+            pool.addFirst(window);
+        }
+    }
+
+    /**
+     * Returns the number of windows which had to be created because no pooled window was available.
+     *
+     * @return the number of created windows.
+     */
+    public static long getCreatedWindowCount() {
+        return createdWindows;
+    }
+
+    /**
+     * Returns the number of times a pooled window was reused.
+     *
+     * @return the number of reused windows.
+     */
+    public static long getReusedWindowCount() {
+        return reusedWindows;
+    }
+
+    public static void resetWindowCounts() {
+        createdWindows = 0;
+        reusedWindows = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Deque<JWindow> getPool(final Window owner) {
+        if (!(owner instanceof RootPaneContainer)) return null;
+        JRootPane rootPane = ((RootPaneContainer) owner).getRootPane();
+        if (rootPane == null) return null;
+        Object pool = rootPane.getClientProperty(KEY_POOL);
+        if (!(pool instanceof Deque)) {
+            pool = new ArrayDeque<JWindow>(MAX_POOLED_WINDOWS);
+            rootPane.putClientProperty(KEY_POOL, pool);
+        }
+        return (Deque<JWindow>) pool;
+    }
+}
@@ -24,6 +24,7 @@
 package com.github.weisj.darklaf.ui.radiobutton;
 
 import com.github.weisj.darklaf.icons.EmptyIcon;
+import com.github.weisj.darklaf.icons.IconAtlas;
 import com.github.weisj.darklaf.ui.checkbox.DarkCheckBoxUI;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.GraphicsContext;
@@ -49,10 +50,10 @@ public class DarkRadioButtonUI extends MetalRadioButtonUI implements PropertyCha
     private static final int ICON_OFF = 4;
     private static final int SIZE = 13;
     private static final int BULLET_RAD = 5;
-    private static final Rectangle viewRect = new Rectangle();
-    private static final Rectangle iconRect = new Rectangle();
-    private static final Rectangle textRect = new Rectangle();
-    private static Dimension size = new Dimension();
+    private final Rectangle viewRect = new Rectangle();
+    private final Rectangle iconRect = new Rectangle();
+    private final Rectangle textRect = new Rectangle();
+    private Dimension size = new Dimension();
     private RectangularShape hitArea;
     protected JRadioButton radioButton;
     protected Color background;
@@ -72,6 +73,7 @@ public class DarkRadioButtonUI extends MetalRadioButtonUI implements PropertyCha
     private Icon radioSelectedIcon;
     private Icon radioSelectedDisabledIcon;
     private Icon radioSelectedFocusedIcon;
+    private IconAtlas iconAtlas;
 
 
     public static ComponentUI createUI(final JComponent c) {
@@ -100,6 +102,8 @@ public class DarkRadioButtonUI extends MetalRadioButtonUI implements PropertyCha
         radioSelectedIcon = UIManager.getIcon("RadioButton.selected.icon");
         radioSelectedDisabledIcon = UIManager.getIcon("RadioButton.selectedDisabled.icon");
         radioSelectedFocusedIcon = UIManager.getIcon("RadioButton.selectedFocused.icon");
+        iconAtlas = IconAtlas.getSharedAtlas(radioIcon, radioDisabledIcon, radioFocusedIcon,
+                                             radioSelectedIcon, radioSelectedDisabledIcon, radioSelectedFocusedIcon);
         background = UIManager.getColor("RadioButton.activeFillColor");
         inactiveBackground = UIManager.getColor("RadioButton.inactiveFillColor");
         focusBorderColor = UIManager.getColor("RadioButton.focusBorderColor");
@@ -114,7 +118,7 @@ public class DarkRadioButtonUI extends MetalRadioButtonUI implements PropertyCha
     }
 
     @Override
-    public synchronized void paint(final Graphics g2d, final JComponent c) {
+    public void paint(final Graphics g2d, final JComponent c) {
         Graphics2D g = (Graphics2D) g2d;
         AbstractButton b = (AbstractButton) c;
 
@@ -132,7 +136,7 @@ public class DarkRadioButtonUI extends MetalRadioButtonUI implements PropertyCha
         } else {
             Icon radioIcon = getRadioIcon(b);
             if (radioIcon != null) {
-                radioIcon.paintIcon(c, g, iconRect.x, iconRect.y + 1);
+                iconAtlas.paintIcon(c, g, radioIcon, iconRect.x, iconRect.y + 1);
             } else {
                 paintDarkBullet(c, g, b);
             }
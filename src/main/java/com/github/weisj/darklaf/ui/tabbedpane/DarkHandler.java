@@ -105,7 +105,9 @@ public class DarkHandler extends TabbedPaneHandler {
             ui.tabPane.doLayout();
         } else if ("JTabbedPane.dndEnabled".equals(key)) {
             ui.dndEnabled = Boolean.TRUE.equals(ui.tabPane.getClientProperty("JTabbedPane.dndEnabled"));
-            ui.tabPane.getDropTarget().setActive(ui.dndEnabled);
+            if (ui.tabPane.getDropTarget() != null) {
+                ui.tabPane.getDropTarget().setActive(ui.dndEnabled);
+            }
         } else if ("componentOrientation".equals(key)) {
             ui.tabPane.doLayout();
             ui.tabPane.repaint();
@@ -25,6 +25,7 @@ package com.github.weisj.darklaf.ui.tabbedpane;
 
 import com.github.weisj.darklaf.components.ScrollPopupMenu;
 import com.github.weisj.darklaf.decorators.PopupMenuAdapter;
+import com.github.weisj.darklaf.util.TimerUtil;
 
 import javax.swing.*;
 import javax.swing.event.PopupMenuEvent;
@@ -38,17 +39,23 @@ import java.awt.event.MouseWheelListener;
 public class DarkScrollableTabSupport extends ScrollableTabSupport implements MouseWheelListener, ActionListener {
 
     protected static final int SCROLL_REWIND_DELAY = 1200;
+    protected static final int SCROLL_FRAME_DELAY = 16;
     protected final ScrollPopupMenu scrollPopupMenu;
     protected final JButton moreTabsButton;
     protected final JComponent newTabButton;
     protected final Timer timer;
+    protected final Timer scrollTimer;
     protected long lastClickEvent;
     private DarkTabbedPaneUI ui;
+    private final DarkScrollableTabViewport tabViewport;
+    private int pendingScroll;
+    private boolean popupMenuValid;
 
     public DarkScrollableTabSupport(final DarkTabbedPaneUI ui, final int tabPlacement) {
         super(ui);
         this.ui = ui;
-        viewport = new DarkScrollableTabViewport(ui);
+        tabViewport = new DarkScrollableTabViewport(ui);
+        viewport = tabViewport;
         tabPanel = new DarkScrollableTabPanel(ui);
 
         viewport.setView(tabPanel);
@@ -73,6 +80,17 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         ui.tabPane.add(moreTabsButton);
         timer = new Timer(SCROLL_REWIND_DELAY, e -> endScroll());
         timer.setRepeats(false);
+        scrollTimer = TimerUtil.createNamedTimer("TabbedPane Scroll", SCROLL_FRAME_DELAY, e -> applyScroll());
+        scrollTimer.setRepeats(false);
+    }
+
+    /**
+     * Stops the pending scroll animation. Called when the ui is uninstalled.
+     */
+    public void uninstall() {
+        scrollTimer.stop();
+        timer.stop();
+        pendingScroll = 0;
     }
 
     protected void endScroll() {
@@ -98,6 +116,7 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         } else {
             if (!ui.tabPane.isEnabled()) return;
             if (lastClickEvent == 0 || (System.currentTimeMillis() - lastClickEvent) > 250) {
+                updatePopupMenu();
                 Dimension pref = scrollPopupMenu.getPreferredSize();
                 boolean leftToRight = ui.tabPane.getComponentOrientation().isLeftToRight();
                 switch (ui.tabPane.getTabPlacement()) {
@@ -137,22 +156,32 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
     @Override
     public void mouseWheelMoved(final MouseWheelEvent e) {
         if (!ui.tabPane.isEnabled() || ui.tabPane.getTabCount() == 0) return;
-        int tabPosition = ui.tabPane.getTabPlacement();
-        int scrollAmount = -1 * e.getUnitsToScroll() * e.getScrollAmount();
-        int scrolled;
-        if (tabPosition == SwingConstants.LEFT || tabPosition == SwingConstants.RIGHT) {
-            if (e.isShiftDown() || !moreTabsButton.isVisible()) return;
-            timer.stop();
-            scrolled = scroll(scrollAmount, false);
-        } else {
-            if (!e.isShiftDown() || !moreTabsButton.isVisible()) return;
-            timer.stop();
-            scrolled = scroll(scrollAmount, true);
+        if (ui.isHorizontalTabPlacement() != e.isShiftDown() || !moreTabsButton.isVisible()) return;
+        timer.stop();
+        // Wheel events can arrive much faster than frames. Only scroll once per frame.
+        pendingScroll += -1 * e.getUnitsToScroll() * e.getScrollAmount();
+        if (!scrollTimer.isRunning()) {
+            scrollTimer.start();
         }
+    }
+
+    protected void applyScroll() {
+        int amount = pendingScroll;
+        pendingScroll = 0;
+        if (ui.tabPane == null || ui.tabPane.getUI() != ui) return;
+        int tabCount = ui.tabPane.getTabCount();
+        // The layout may not have caught up with added tabs yet.
+        if (tabCount == 0 || ui.rects.length < tabCount) return;
+        boolean horizontal = ui.isHorizontalTabPlacement();
+        int scrolled = amount != 0 ? scroll(amount, horizontal) : 0;
         if (scrolled != 0) {
             showMoreTabsButton();
+            if (horizontal) {
+                tabViewport.scrollTabs(scrolled, 0);
+            } else {
+                tabViewport.scrollTabs(0, scrolled);
+            }
             updateRollover();
-            viewport.repaint();
         }
         timer.start();
     }
@@ -203,10 +232,22 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
 
     public void showMoreTabsButton() {
         moreTabsButton.setVisible(true);
-        scrollPopupMenu.removeAll();
         if (ui.maxVisible < 0 || ui.minVisible >= ui.tabPane.getTabCount()) {
             ui.scrollLayout.updateVisibleRange(ui.tabPane.getTabPlacement());
         }
+        if (scrollPopupMenu.isVisible()) {
+            updatePopupMenu();
+        } else {
+            // Creating the menu items is expensive for many tabs. Wait until the menu is shown.
+            popupMenuValid = false;
+        }
+        moreTabsButton.repaint();
+    }
+
+    protected void updatePopupMenu() {
+        if (popupMenuValid) return;
+        popupMenuValid = true;
+        scrollPopupMenu.removeAll();
         if (ui.minVisible != ui.tabPane.getTabCount() && ui.maxVisible >= 0) {
             for (int i = 0; i < ui.minVisible; i++) {
                 scrollPopupMenu.add(createMenuItem(i));
@@ -215,7 +256,6 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         for (int i = ui.maxVisible + 1; i < ui.tabPane.getTabCount(); i++) {
             scrollPopupMenu.add(createMenuItem(i));
         }
-        moreTabsButton.repaint();
     }
 
 
@@ -23,17 +23,159 @@
  */
 package com.github.weisj.darklaf.ui.tabbedpane;
 
+import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 
+/**
+ * Viewport of the scrollable tab area.
+ * <p>
+ * Scrolling the tab area doesn't move the view but shifts the tab rectangles. To avoid repainting all visible tabs on
+ * every scroll step the viewport paints through a backing store image. When the tabs are shifted the image content is
+ * moved and only the newly exposed area is painted.
+ */
 public class DarkScrollableTabViewport extends ScrollableTabViewport {
     protected final Point viewPos = new Point(0, 0);
+    private final DarkTabbedPaneUI ui;
+    private BufferedImage backingStore;
+    private int scale;
+    private boolean paintBackingStoreOnly;
 
     public DarkScrollableTabViewport(final DarkTabbedPaneUIBridge ui) {
         super(ui);
+        this.ui = ui instanceof DarkTabbedPaneUI ? (DarkTabbedPaneUI) ui : null;
     }
 
     @Override
     public Point getViewPosition() {
         return viewPos;
     }
+
+    /*
+     * All painting has to go through the backing store.
+     */
+    @Override
+    protected boolean isPaintingOrigin() {
+        return isTabBackingStoreEnabled();
+    }
+
+    /**
+     * Returns whether the backing store can be used. Tab components and drag and drop are painted without it.
+     *
+     * @return true if the backing store can be used.
+     */
+    protected boolean isTabBackingStoreEnabled() {
+        return ui != null && !ui.dragging && !ui.drawDropRect
+                && (ui.tabContainer == null || ui.tabContainer.getComponentCount() == 0);
+    }
+
+    @Override
+    public void paint(final Graphics g) {
+        int sc = getIntegerScale(g);
+        if (sc <= 0 || !isTabBackingStoreEnabled() || isPaintingForPrint()) {
+            backingStore = null;
+            super.paint(g);
+            return;
+        }
+        int width = getWidth();
+        int height = getHeight();
+        if (backingStore == null || scale != sc
+                || backingStore.getWidth() != width * sc || backingStore.getHeight() != height * sc) {
+            scale = sc;
+            backingStore = new BufferedImage(width * sc, height * sc, BufferedImage.TYPE_INT_ARGB);
+            paintBackingStore(new Rectangle(0, 0, width, height));
+        } else if (!paintBackingStoreOnly) {
+            Rectangle clip = g.getClipBounds();
+            paintBackingStore(clip != null ? clip : new Rectangle(0, 0, width, height));
+        }
+        g.drawImage(backingStore, 0, 0, width, height, null);
+    }
+
+    /**
+     * Moves the painted tabs by the given amount. Has to be called after the tab rectangles have been shifted.
+     *
+     * @param dx the horizontal shift.
+     * @param dy the vertical shift.
+     */
+    public void scrollTabs(final int dx, final int dy) {
+        if (backingStore == null || !isShowing() || !isTabBackingStoreEnabled() || hasPendingRepaint()) {
+            repaint();
+            return;
+        }
+        int width = getWidth();
+        int height = getHeight();
+        Graphics2D g = backingStore.createGraphics();
+        try {
+            g.copyArea(0, 0, backingStore.getWidth(), backingStore.getHeight(), dx * scale, dy * scale);
+        } finally {
+            g.dispose();
+        }
+        if (dx > 0) {
+            paintBackingStore(new Rectangle(0, 0, dx, height));
+        } else if (dx < 0) {
+            paintBackingStore(new Rectangle(width + dx, 0, -dx, height));
+        }
+        if (dy > 0) {
+            paintBackingStore(new Rectangle(0, 0, width, dy));
+        } else if (dy < 0) {
+            paintBackingStore(new Rectangle(0, height + dy, width, -dy));
+        }
+        paintBackingStoreOnly = true;
+        try {
+            paintImmediately(0, 0, width, height);
+        } finally {
+            paintBackingStoreOnly = false;
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        backingStore = null;
+    }
+
+    private void paintBackingStore(final Rectangle r) {
+        Graphics2D g = backingStore.createGraphics();
+        try {
+            g.scale(scale, scale);
+            g.clip(r);
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(r.x, r.y, r.width, r.height);
+            g.setComposite(AlphaComposite.SrcOver);
+            super.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /*
+     * Content that is waiting to be repainted would be moved to a location that isn't repainted.
+     */
+    private boolean hasPendingRepaint() {
+        RepaintManager rm = RepaintManager.currentManager(this);
+        for (Container c = this; c != null; c = c.getParent()) {
+            if (c instanceof JComponent && !rm.getDirtyRegion((JComponent) c).isEmpty()) return true;
+        }
+        Component view = getView();
+        if (view instanceof Container) {
+            for (Component c : ((Container) view).getComponents()) {
+                if (c instanceof JComponent && !rm.getDirtyRegion((JComponent) c).isEmpty()) return true;
+            }
+        }
+        return view instanceof JComponent && !rm.getDirtyRegion((JComponent) view).isEmpty();
+    }
+
+    /*
+     * Shifting by whole pixels is only possible for integer scaling factors.
+     */
+    private static int getIntegerScale(final Graphics g) {
+        if (!(g instanceof Graphics2D)) return -1;
+        AffineTransform at = ((Graphics2D) g).getTransform();
+        double sx = at.getScaleX();
+        if (sx != at.getScaleY() || at.getShearX() != 0 || at.getShearY() != 0 || sx != Math.rint(sx)) {
+            return -1;
+        }
+        return (int) sx;
+    }
 }
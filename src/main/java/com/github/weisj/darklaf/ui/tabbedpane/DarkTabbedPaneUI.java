@@ -32,6 +32,7 @@ import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
+import java.awt.dnd.DropTarget;
 import java.awt.event.AWTEventListener;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
@@ -127,9 +128,11 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
 
     protected void installDragSupport() {
         tabPane.setTransferHandler(TRANSFER_HANDLER);
+        DropTarget dropTarget = tabPane.getDropTarget();
+        if (dropTarget == null) return; // Headless environment.
         try {
-            tabPane.getDropTarget().addDropTargetListener(TRANSFER_HANDLER);
-            tabPane.getDropTarget().setActive(dndEnabled);
+            dropTarget.addDropTargetListener(TRANSFER_HANDLER);
+            dropTarget.setActive(dndEnabled);
         } catch (TooManyListenersException e) {
             e.printStackTrace();
         }
@@ -138,6 +141,7 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
     @Override
     public void uninstallUI(final JComponent c) {
         if (scrollableTabSupport != null) {
+            scrollableTabSupport.uninstall();
             tabPane.remove(scrollableTabSupport.moreTabsButton);
             tabPane.remove(scrollableTabSupport.newTabButton);
         }
@@ -412,12 +416,19 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
 
     public void setDnDIndicatorRect(final int x, final int y, final int width, final int height, final int targetIndex,
                                     final boolean sourceEqualsTarget) {
-        dropRect.setBounds(x, y, width, height);
+        int rx = x;
+        int ry = y;
         if (scrollableTabLayoutEnabled()) {
             Point p = scrollableTabSupport.viewport.getLocation();
-            dropRect.x -= p.x;
-            dropRect.y -= p.y;
+            rx -= p.x;
+            ry -= p.y;
         }
+        if (drawDropRect && dropTargetIndex == targetIndex && this.sourceEqualsTarget == sourceEqualsTarget
+                && dropRect.x == rx && dropRect.y == ry && dropRect.width == width && dropRect.height == height) {
+            // Nothing has changed. No need to layout the tabs again.
+            return;
+        }
+        dropRect.setBounds(rx, ry, width, height);
         drawDropRect = true;
         this.sourceEqualsTarget = sourceEqualsTarget;
         dropTargetIndex = targetIndex;
@@ -589,6 +600,40 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
         }
     }
 
+    public int getDropTargetIndex() {
+        return drawDropRect ? dropTargetIndex : -1;
+    }
+
+    /**
+     * Paints the tab at the given index with its upper left corner at the origin. This is used to create drag images
+     * without having to paint the whole tabbed pane.
+     *
+     * @param g        the graphics to paint with.
+     * @param tabIndex the index of the tab.
+     */
+    public void paintTabImage(final Graphics g, final int tabIndex) {
+        ensureCurrentLayout();
+        Rectangle tabRect = rects[tabIndex];
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.translate(-tabRect.x, -tabRect.y);
+        g2.clipRect(tabRect.x, tabRect.y, tabRect.width, tabRect.height);
+        g2.setColor(getTabAreaBackground());
+        g2.fillRect(tabRect.x, tabRect.y, tabRect.width, tabRect.height);
+        paintTab(g2, tabPane.getTabPlacement(), rects, tabIndex, new Rectangle(), new Rectangle());
+        g2.dispose();
+
+        Component tabComponent = tabPane.getTabComponentAt(tabIndex);
+        if (tabComponent != null && tabComponent.getParent() != null) {
+            Rectangle tabBounds = tabPane.getBoundsAt(tabIndex);
+            Rectangle compBounds = SwingUtilities.convertRectangle(tabComponent.getParent(),
+                                                                   tabComponent.getBounds(), tabPane);
+            Graphics cg = g.create(compBounds.x - tabBounds.x, compBounds.y - tabBounds.y,
+                                   compBounds.width, compBounds.height);
+            tabComponent.printAll(cg);
+            cg.dispose();
+        }
+    }
+
     public void clearDropIndicator() {
         drawDropRect = false;
         dropTargetIndex = -1;
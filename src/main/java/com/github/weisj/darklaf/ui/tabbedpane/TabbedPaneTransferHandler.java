@@ -24,6 +24,7 @@
 package com.github.weisj.darklaf.ui.tabbedpane;
 
 import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.Scale;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -46,6 +47,7 @@ import java.awt.dnd.DropTargetEvent;
 import java.awt.dnd.DropTargetListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.lang.reflect.Field;
 
 
@@ -64,6 +66,7 @@ public class TabbedPaneTransferHandler extends TransferHandler implements DropTa
      */
     protected Point mouseLocation;
     private int lastTab = -1;
+    private final Point lastTabLocation = new Point();
     private DataFlavor tabFlavor;
     private TabTransferable currentTransferable;
 
@@ -184,9 +187,20 @@ public class TabbedPaneTransferHandler extends TransferHandler implements DropTa
     }
 
     protected void createDragImage(final JTabbedPane tabbedPane, final DarkTabbedPaneUI ui) {
-        Image tabImage = ImageUtil.scaledImageFromComponent(tabbedPane, currentTransferable.transferData.tabBounds);
-        int w = tabImage.getWidth(null);
-        int h = tabImage.getHeight(null);
+        Rectangle tabBounds = currentTransferable.transferData.tabBounds;
+        BufferedImage tabImage;
+        if (ui != null) {
+            tabImage = ImageUtil.getPooledImage((int) (Scale.SCALE_X * tabBounds.width),
+                                                (int) (Scale.SCALE_Y * tabBounds.height));
+            Graphics2D tabGraphics = tabImage.createGraphics();
+            tabGraphics.scale(Scale.SCALE_X, Scale.SCALE_Y);
+            ui.paintTabImage(tabGraphics, currentTransferable.transferData.tabIndex);
+            tabGraphics.dispose();
+        } else {
+            tabImage = ImageUtil.pooledImageFromComponent(tabbedPane, tabBounds);
+        }
+        int w = tabImage.getWidth();
+        int h = tabImage.getHeight();
         Graphics g = tabImage.getGraphics();
 
         if (ui != null) {
@@ -251,14 +265,27 @@ public class TabbedPaneTransferHandler extends TransferHandler implements DropTa
         if (ui != null) {
             TabTransferable t = currentTransferable;
             if (t != null) {
-                int tab = TabbedPaneUtil.getDroppedTabIndex(t.getTabBounds(), destTabbedPane,
-                                                            supportsIndicator(destTabbedPane), mouseLocation);
+                int tab = TabbedPaneUtil.getDroppedTabIndex(t.getTabBounds(), destTabbedPane, ui, mouseLocation);
                 if (tab == -1) {
+                    if (lastTab != -1) {
+                        ui.clearDropIndicator();
+                    }
                     lastTab = tab;
-                    ui.clearDropIndicator();
                     return;
                 }
-                Rectangle dropRect = TabbedPaneUtil.getDropRect(supportsIndicator(destTabbedPane), destTabbedPane,
+                int tabCount = destTabbedPane.getTabCount();
+                Point tabLocation = tabCount > 0 ? destTabbedPane.getBoundsAt(Math.min(tab, tabCount - 1)).getLocation()
+                                                 : new Point();
+                if (tab == lastTab && ui.scrollableTabLayoutEnabled() && ui.getDropTargetIndex() == tab
+                        && tabLocation.equals(lastTabLocation)) {
+                    /*
+                     * In scroll layout the drop rect only depends on the target index and the location of the target
+                     * tab, which changes if the tab area is scrolled.
+                     */
+                    return;
+                }
+                lastTabLocation.setLocation(tabLocation);
+                Rectangle dropRect = TabbedPaneUtil.getDropRect(ui, destTabbedPane,
                                                                 t.transferData.sourceTabbedPane, mouseLocation,
                                                                 t.getTabBounds(), tab, t.transferData.tabIndex, lastTab);
                 ui.setDnDIndicatorRect(dropRect.x, dropRect.y, dropRect.width, dropRect.height,
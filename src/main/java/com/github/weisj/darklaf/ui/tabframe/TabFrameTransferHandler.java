@@ -50,6 +50,7 @@ import java.awt.dnd.DropTargetEvent;
 import java.awt.dnd.DropTargetListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 
 
 /**
@@ -312,10 +313,10 @@ public class TabFrameTransferHandler extends TransferHandler implements DropTarg
 
     protected void createDragImage(final TabFrameUI ui) {
         Component comp = currentTransferable.transferData.tab.getComponent();
-        Image tabImage = ImageUtil.scaledImageFromComponent(comp, new Rectangle(0, 0, comp.getWidth(),
-                                                                                comp.getHeight()));
-        int w = tabImage.getWidth(null);
-        int h = tabImage.getHeight(null);
+        BufferedImage tabImage = ImageUtil.pooledImageFromComponent(comp, new Rectangle(0, 0, comp.getWidth(),
+                                                                                        comp.getHeight()));
+        int w = tabImage.getWidth();
+        int h = tabImage.getHeight();
         Graphics g = tabImage.getGraphics();
 
         g.setColor(ui.getDragBorderColor());
@@ -24,13 +24,10 @@
 package com.github.weisj.darklaf.ui.table;
 
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererToggleButton;
-import com.github.weisj.darklaf.util.DarkUIUtil;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
-import javax.swing.table.TableColumn;
 import java.awt.*;
 
 /**
@@ -56,48 +53,45 @@ public class DarkTableCellRenderer extends DefaultTableCellRenderer {
 
         JComponent component = (JComponent) super.getTableCellRendererComponent(table, value, isSelected, hasFocus,
                                                                                 row, column);
-        this.setVerticalAlignment(SwingConstants.CENTER);
-        setHorizontalAlignment(table.getComponentOrientation().isLeftToRight() ? LEFT : RIGHT);
+        DarkTableUI.PaintState state = DarkTableUI.getPaintState(table);
+        setVerticalAlignment(SwingConstants.CENTER);
+        setHorizontalAlignment(state.ltr ? LEFT : RIGHT);
 
-        if (DarkTableCellFocusBorder.isRowFocusBorder(table)
-                && table.getSelectionModel().getLeadSelectionIndex() == row
-                && !table.isEditing()
-                && DarkUIUtil.hasFocus(table)) {
-            component.setBorder(UIManager.getBorder("Table.focusSelectedCellHighlightBorder"));
-            component.putClientProperty("JTable.rowFocusBorder", true);
-            JTableHeader header = table.getTableHeader();
-            TableColumn draggedColumn = (header == null) ? null : header.getDraggedColumn();
+        if (state.rowFocusBorder && state.leadRow == row) {
+            component.setBorder(state.focusBorder);
+            putClientProperty(component, "JTable.rowFocusBorder", true);
+            int index = state.draggedIndex;
             boolean forceLeft = false;
             boolean forceRight = false;
-            if (draggedColumn != null) {
-                int index = DarkTableUI.viewIndexForColumn(draggedColumn, table);
+            if (index >= 0) {
                 forceLeft = column == index + 1 || column == index;
                 forceRight = column == index - 1 || column == index;
             }
-            component.putClientProperty("JTable.forcePaintRight", forceRight);
-            component.putClientProperty("JTable.forcePaintLeft", forceLeft);
+            putClientProperty(component, "JTable.forcePaintRight", forceRight);
+            putClientProperty(component, "JTable.forcePaintLeft", forceLeft);
         } else {
-            component.putClientProperty("JTable.rowFocusBorder", false);
+            putClientProperty(component, "JTable.rowFocusBorder", false);
         }
 
-        boolean alternativeRow = Boolean.TRUE.equals(table.getClientProperty("JTable.alternateRowColor"));
-        Color alternativeRowColor = UIManager.getColor("Table.alternateRowBackground");
-        Color normalColor = table.getBackground();
-        Color background = alternativeRow && row % 2 == 1 ? alternativeRowColor : normalColor;
-        if (!(isSelected) || table.isEditing()) {
-            component.setBackground(background);
-            component.setForeground(table.getForeground());
+        if (!(isSelected) || state.editing) {
+            component.setBackground(row % 2 == 1 ? state.alternateBackground : state.background);
+            component.setForeground(state.foreground);
         } else {
-            if (DarkUIUtil.hasFocus(table)) {
-                component.setForeground(table.getSelectionForeground());
-            } else {
-                component.setForeground(UIManager.getColor("Table.selectionForegroundInactive"));
-            }
-            component.setBackground(table.getSelectionBackground());
+            component.setForeground(state.selectionForeground);
+            component.setBackground(state.selectionBackground);
         }
         return component;
     }
 
+    /*
+     * Only update the property if necessary as every change notifies the property listeners.
+     */
+    private static void putClientProperty(final JComponent c, final String key, final boolean value) {
+        if (!Boolean.valueOf(value).equals(c.getClientProperty(key))) {
+            c.putClientProperty(key, value);
+        }
+    }
+
     protected static boolean isBooleanRenderingEnabled(final JTable table) {
         return Boolean.TRUE.equals(table.getClientProperty("JTable.renderBooleanAsCheckBox"));
     }
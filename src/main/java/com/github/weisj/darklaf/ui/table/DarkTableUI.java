@@ -24,22 +24,29 @@
 package com.github.weisj.darklaf.ui.table;
 
 import com.github.weisj.darklaf.components.OverlayScrollPane;
+import com.github.weisj.darklaf.ui.cell.CellImageCache;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 import sun.swing.SwingUtilities2;
 
 import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.function.Supplier;
 
 /**
@@ -47,7 +54,30 @@ import java.util.function.Supplier;
  */
 public class DarkTableUI extends DarkTableUIBridge {
 
+    /**
+     * Enables the {@link CellImageCache} for the table. The value is either {@link Boolean#TRUE} to cache all columns
+     * or a {@link Collection} of the identifiers of the columns to cache. Only use this for renderers that are
+     * expensive to paint and only depend on the cell value and the cell state.
+     */
+    public static final String KEY_CELL_IMAGE_CACHE = "JTable.cellImageCache";
+    private static final int CELL_SELECTED = 1;
+    private static final int CELL_FOCUSED = 1 << 1;
+    private static final int TABLE_FOCUSED = 1 << 2;
+    private static final int LEAD_ROW = 1 << 3;
+    private static final int ENABLED = 1 << 4;
     private static final int ROW_HEIGHT = 22;
+    private CellImageCache cellImageCache;
+    private final TableModelListener cellImageCacheInvalidator = e -> {
+        if (cellImageCache == null) return;
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        if (e.getType() == TableModelEvent.UPDATE && first >= 0 && last != Integer.MAX_VALUE
+                && table.getRowSorter() == null) {
+            cellImageCache.invalidateRows(first, last);
+        } else {
+            cellImageCache.clear();
+        }
+    };
     private final PropertyChangeListener propertyChangeListener = e -> {
         String key = e.getPropertyName();
         if ("showHorizontalLines".equals(key)) {
@@ -72,6 +102,17 @@ public class DarkTableUI extends DarkTableUIBridge {
                     LookAndFeel.installBorder((JComponent) newUnwrapped, "Table.scrollPaneBorder");
                 }
             }
+        } else if (KEY_CELL_IMAGE_CACHE.equals(key)) {
+            updateCellImageCache();
+            table.repaint();
+        } else if ("model".equals(key)) {
+            if (e.getOldValue() instanceof TableModel) {
+                ((TableModel) e.getOldValue()).removeTableModelListener(cellImageCacheInvalidator);
+            }
+            if (e.getNewValue() instanceof TableModel) {
+                ((TableModel) e.getNewValue()).addTableModelListener(cellImageCacheInvalidator);
+            }
+            if (cellImageCache != null) cellImageCache.clear();
         }
     };
     protected Color selectionBackground;
@@ -100,7 +141,10 @@ public class DarkTableUI extends DarkTableUIBridge {
         }
     };
     protected Color borderColor;
-
+    protected Color alternateRowBackground;
+    protected Color selectionForegroundInactive;
+    protected Border focusSelectedCellBorder;
+    private PaintState paintState;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTableUI();
@@ -115,6 +159,8 @@ public class DarkTableUI extends DarkTableUIBridge {
         super.installListeners();
         table.addFocusListener(focusListener);
         table.addPropertyChangeListener(propertyChangeListener);
+        table.getModel().addTableModelListener(cellImageCacheInvalidator);
+        updateCellImageCache();
     }
 
     @Override
@@ -130,6 +176,27 @@ public class DarkTableUI extends DarkTableUIBridge {
         super.uninstallListeners();
         table.removeFocusListener(focusListener);
         table.removePropertyChangeListener(propertyChangeListener);
+        table.getModel().removeTableModelListener(cellImageCacheInvalidator);
+        cellImageCache = null;
+    }
+
+    protected void updateCellImageCache() {
+        Object value = table.getClientProperty(KEY_CELL_IMAGE_CACHE);
+        if (Boolean.TRUE.equals(value) || value instanceof Collection) {
+            if (cellImageCache == null) cellImageCache = new CellImageCache();
+        } else {
+            cellImageCache = null;
+        }
+    }
+
+    protected boolean isCellImageCached(final int column) {
+        if (cellImageCache == null || table.isPaintingForPrint() || table.getDropLocation() != null) return false;
+        Object value = table.getClientProperty(KEY_CELL_IMAGE_CACHE);
+        if (value instanceof Collection) {
+            Object identifier = table.getColumnModel().getColumn(column).getIdentifier();
+            return ((Collection<?>) value).contains(identifier);
+        }
+        return Boolean.TRUE.equals(value);
     }
 
     protected static void setupRendererComponents(final JTable table) {
@@ -189,6 +256,61 @@ public class DarkTableUI extends DarkTableUIBridge {
         borderColor = UIManager.getColor("TableHeader.borderColor");
         selectionFocusBackground = UIManager.getColor("Table.focusSelectionBackground");
         selectionBackground = UIManager.getColor("Table.selectionNoFocusBackground");
+        alternateRowBackground = UIManager.getColor("Table.alternateRowBackground");
+        selectionForegroundInactive = UIManager.getColor("Table.selectionForegroundInactive");
+        focusSelectedCellBorder = UIManager.getBorder("Table.focusSelectedCellHighlightBorder");
+    }
+
+    @Override
+    public void paint(final Graphics g, final JComponent c) {
+        paintState = createPaintState();
+        if (cellImageCache != null) {
+            PaintState state = paintState;
+            cellImageCache.validate(Arrays.asList(state.background, state.alternateBackground, state.foreground,
+                                                  state.selectionBackground, state.selectionForeground,
+                                                  state.focusBorder, state.rowFocusBorder, state.ltr,
+                                                  table.getFont(), table.getGridColor()));
+        }
+        try {
+            super.paint(g, c);
+        } finally {
+            paintState = null;
+        }
+    }
+
+    /**
+     * Get the state shared by all cells painted in the current paint cycle. If the table currently isn't painted
+     * the state is computed.
+     *
+     * @param table the table.
+     * @return the paint state.
+     */
+    static PaintState getPaintState(final JTable table) {
+        if (table.getUI() instanceof DarkTableUI) {
+            DarkTableUI ui = (DarkTableUI) table.getUI();
+            return ui.paintState != null ? ui.paintState : ui.createPaintState();
+        }
+        return new PaintState(table, UIManager.getColor("Table.alternateRowBackground"),
+                              UIManager.getColor("Table.selectionForegroundInactive"),
+                              UIManager.getBorder("Table.focusSelectedCellHighlightBorder"));
+    }
+
+    protected PaintState createPaintState() {
+        PaintState state = new PaintState(table, alternateRowBackground, selectionForegroundInactive,
+                                          focusSelectedCellBorder);
+        Rectangle bounds = table.getVisibleRect();
+        Point upperLeft = bounds.getLocation();
+        Point lowerRight = new Point(upperLeft.x + bounds.width - 1, upperLeft.y + bounds.height - 1);
+        state.visibleColumnMin = table.columnAtPoint(upperLeft);
+        state.visibleColumnMax = table.columnAtPoint(lowerRight);
+        state.scrollLtR = !isScrollPaneRtl();
+        state.scrollBarVisible = scrollBarVisible();
+        JTableHeader header = table.getTableHeader();
+        state.draggedDistance = header != null && table.getRowCount() > 0
+                                ? adjustDistance(header.getDraggedDistance(),
+                                                 table.getCellRect(0, state.draggedIndex, true), table)
+                                : 0;
+        return state;
     }
 
 
@@ -459,24 +581,16 @@ public class DarkTableUI extends DarkTableUIBridge {
 
     @Override
     protected void paintCell(final Graphics g, final Rectangle cellRect, final int row, final int column) {
-        Rectangle bounds = table.getVisibleRect();
-        Point upperLeft = bounds.getLocation();
-        Point lowerRight = new Point(upperLeft.x + bounds.width - 1, upperLeft.y + bounds.height - 1);
-        int cMin = table.columnAtPoint(upperLeft);
-        int cMax = table.columnAtPoint(lowerRight);
+        PaintState state = paintState != null ? paintState : createPaintState();
+        int cMin = state.visibleColumnMin;
+        int cMax = state.visibleColumnMax;
 
-        boolean scrollLtR = !isScrollPaneRtl();
-        boolean ltr = table.getComponentOrientation().isLeftToRight();
+        boolean scrollLtR = state.scrollLtR;
+        boolean ltr = state.ltr;
 
-        JTableHeader header = table.getTableHeader();
-        int draggedIndex = header != null ? viewIndexForColumn(header.getDraggedColumn())
-                                          : -1;
-        int dist = header != null ? adjustDistance(header.getDraggedDistance(),
-                                                   table.getCellRect(row, draggedIndex, true),
-                                                   table) : 0;
-        boolean isDragged = column == draggedIndex && dist != 0;
+        boolean isDragged = column == state.draggedIndex && state.draggedDistance != 0;
         Rectangle r = new Rectangle(cellRect);
-        if (!scrollBarVisible()) {
+        if (!state.scrollBarVisible) {
             if (ltr) {
                 if (column == cMax && !isDragged) r.width += 1;
             } else {
@@ -502,12 +616,33 @@ public class DarkTableUI extends DarkTableUIBridge {
             component.setBounds(r);
             component.validate();
         } else {
+            if (isCellImageCached(column)) {
+                paintCachedCell(g, r, row, column, state);
+                return;
+            }
             TableCellRenderer renderer = table.getCellRenderer(row, column);
             Component component = table.prepareRenderer(renderer, row, column);
             rendererPane.paintComponent(g, component, table, r.x, r.y, r.width, r.height, true);
         }
     }
 
+    private void paintCachedCell(final Graphics g, final Rectangle r, final int row, final int column,
+                                 final PaintState state) {
+        long key = CellImageCache.key(row, table.convertColumnIndexToModel(column));
+        Object value = table.getValueAt(row, column);
+        boolean cellFocused = state.hasFocus && row == state.leadRow
+                && column == table.getColumnModel().getSelectionModel().getLeadSelectionIndex();
+        int cellState = (table.isCellSelected(row, column) ? CELL_SELECTED : 0)
+                | (cellFocused ? CELL_FOCUSED : 0)
+                | (state.hasFocus ? TABLE_FOCUSED : 0)
+                | (row == state.leadRow ? LEAD_ROW : 0)
+                | (table.isEnabled() ? ENABLED : 0);
+        if (cellImageCache.paintCached(g, key, value, cellState, r)) return;
+        TableCellRenderer renderer = table.getCellRenderer(row, column);
+        Component component = table.prepareRenderer(renderer, row, column);
+        cellImageCache.paintAndCache(g, rendererPane, component, table, key, value, cellState, r);
+    }
+
     protected static int adjustDistance(final int distance, final Rectangle rect,
                                         final JTable comp) {
         int dist = distance;
@@ -522,5 +657,46 @@ public class DarkTableUI extends DarkTableUIBridge {
         return dist;
     }
 
-
+    /**
+     * State that is the same for all cells painted during one paint cycle.
+     */
+    static final class PaintState {
+
+        final boolean hasFocus;
+        final boolean editing;
+        final boolean rowFocusBorder;
+        final boolean ltr;
+        final int leadRow;
+        final int draggedIndex;
+        final Color background;
+        final Color alternateBackground;
+        final Color foreground;
+        final Color selectionBackground;
+        final Color selectionForeground;
+        final Border focusBorder;
+
+        int visibleColumnMin;
+        int visibleColumnMax;
+        int draggedDistance;
+        boolean scrollLtR;
+        boolean scrollBarVisible;
+
+        private PaintState(final JTable table, final Color alternateRowBackground,
+                           final Color selectionForegroundInactive, final Border focusBorder) {
+            hasFocus = DarkUIUtil.hasFocus(table);
+            editing = table.isEditing();
+            rowFocusBorder = hasFocus && !editing && DarkTableCellFocusBorder.isRowFocusBorder(table);
+            ltr = table.getComponentOrientation().isLeftToRight();
+            leadRow = table.getSelectionModel().getLeadSelectionIndex();
+            JTableHeader header = table.getTableHeader();
+            draggedIndex = header != null ? viewIndexForColumn(header.getDraggedColumn(), table) : -1;
+            background = table.getBackground();
+            alternateBackground = Boolean.TRUE.equals(table.getClientProperty("JTable.alternateRowColor"))
+                                  ? alternateRowBackground : background;
+            foreground = table.getForeground();
+            selectionBackground = table.getSelectionBackground();
+            selectionForeground = hasFocus ? table.getSelectionForeground() : selectionForegroundInactive;
+            this.focusBorder = focusBorder;
+        }
+    }
 }
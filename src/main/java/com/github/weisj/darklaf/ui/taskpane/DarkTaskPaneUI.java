@@ -35,14 +35,25 @@ import javax.swing.border.CompoundBorder;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeListener;
 
 public class DarkTaskPaneUI extends MetalTaskPaneUI {
 
+    /*
+     * Contents larger than this (in device pixels) are animated without a snapshot.
+     */
+    private static final int MAX_SNAPSHOT_AREA = 4096 * 4096;
+
     protected boolean isCollapsed;
     protected Color borderColor;
     protected Icon collapsedIcon;
     protected Icon openIcon;
     protected int arc;
+    protected PropertyChangeListener animationListener;
+    private boolean animationPending;
+    private ContentSnapshot snapshot;
 
 
     public static ComponentUI createUI(final JComponent c) {
@@ -66,7 +77,107 @@ public class DarkTaskPaneUI extends MetalTaskPaneUI {
     @Override
     protected void installListeners() {
         super.installListeners();
-        group.addPropertyChangeListener(JXCollapsiblePane.ANIMATION_STATE_KEY, e -> isCollapsed = "collapsed".equals(e.getNewValue()));
+        animationListener = createAnimationListener();
+        group.addPropertyChangeListener(JXCollapsiblePane.ANIMATION_STATE_KEY, animationListener);
+        group.addPropertyChangeListener("collapsed", animationListener);
+    }
+
+    @Override
+    public void uninstallUI(final JComponent c) {
+        stopSnapshotAnimation();
+        super.uninstallUI(c);
+    }
+
+    @Override
+    protected void uninstallListeners() {
+        super.uninstallListeners();
+        group.removePropertyChangeListener(JXCollapsiblePane.ANIMATION_STATE_KEY, animationListener);
+        group.removePropertyChangeListener("collapsed", animationListener);
+        animationListener = null;
+    }
+
+    protected PropertyChangeListener createAnimationListener() {
+        return e -> {
+            if (JXCollapsiblePane.ANIMATION_STATE_KEY.equals(e.getPropertyName())) {
+                Object state = e.getNewValue();
+                isCollapsed = "collapsed".equals(state);
+                if ("reinit".equals(state)) {
+                    animationPending = true;
+                } else {
+                    animationPending = false;
+                    stopSnapshotAnimation();
+                }
+            } else if (animationPending) {
+                /*
+                 * The collapsible pane has updated the visibility of the content by the time
+                 * the collapsed property is fired.
+                 */
+                animationPending = false;
+                startSnapshotAnimation();
+            }
+        };
+    }
+
+    @Override
+    public void paint(final Graphics g, final JComponent c) {
+        super.paint(g, c);
+        if (snapshot != null) {
+            snapshot.paint(g, group);
+        }
+    }
+
+    /**
+     * Replaces the content of the task pane with a snapshot for the duration of the collapse/expand animation. The
+     * content is hidden, so it isn't painted again on each animation step.
+     */
+    protected void startSnapshotAnimation() {
+        if (!group.isShowing()) return;
+        Container content = group.getContentPane();
+        Container wrapper = content != null ? content.getParent() : null;
+        if (!(content instanceof JComponent) || !(wrapper instanceof JComponent)) return;
+        if (snapshot == null) {
+            snapshot = createSnapshot((JComponent) content, (JComponent) wrapper);
+            if (snapshot == null) return;
+        }
+        content.setVisible(false);
+        group.repaint();
+    }
+
+    /**
+     * Restores the real content once the animation has finished.
+     */
+    protected void stopSnapshotAnimation() {
+        if (snapshot == null) return;
+        ContentSnapshot s = snapshot;
+        snapshot = null;
+        s.restore(!group.isCollapsed());
+        group.repaint();
+    }
+
+    private ContentSnapshot createSnapshot(final JComponent content, final JComponent wrapper) {
+        int width = content.getWidth() > 0 ? content.getWidth() : wrapper.getWidth();
+        int height = content.getPreferredSize().height;
+        if (width <= 0 || height <= 0) return null;
+        GraphicsConfiguration gc = group.getGraphicsConfiguration();
+        AffineTransform at = gc != null ? gc.getDefaultTransform() : new AffineTransform();
+        double sx = at.getScaleX();
+        double sy = at.getScaleY();
+        int imageWidth = (int) Math.ceil(width * sx);
+        int imageHeight = (int) Math.ceil(height * sy);
+        if ((long) imageWidth * imageHeight > MAX_SNAPSHOT_AREA) return null;
+        if (content.getWidth() != width || content.getHeight() != height) {
+            content.setSize(width, height);
+        }
+        content.validate();
+        BufferedImage image = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(sx, sy);
+            content.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return new ContentSnapshot(content, wrapper, image, width, height);
     }
 
     @Override
@@ -128,24 +239,128 @@ public class DarkTaskPaneUI extends MetalTaskPaneUI {
         }
     }
 
+    private static final class ContentSnapshot {
+
+        private final JComponent content;
+        private final JComponent wrapper;
+        private final BufferedImage image;
+        private final int width;
+        private final int height;
+        private final boolean wrapperOpaque;
+        private final boolean paneOpaque;
+
+        private ContentSnapshot(final JComponent content, final JComponent wrapper, final BufferedImage image,
+                                final int width, final int height) {
+            this.content = content;
+            this.wrapper = wrapper;
+            this.image = image;
+            this.width = width;
+            this.height = height;
+            wrapperOpaque = wrapper.isOpaque();
+            wrapper.setOpaque(false);
+            Container pane = wrapper.getParent();
+            paneOpaque = pane instanceof JComponent && pane.isOpaque();
+            if (paneOpaque) {
+                ((JComponent) pane).setOpaque(false);
+            }
+        }
+
+        private void paint(final Graphics g, final Component target) {
+            Container pane = wrapper.getParent();
+            if (pane == null) return;
+            Rectangle bounds = SwingUtilities.convertRectangle(pane, wrapper.getBounds(), target);
+            Graphics g2 = g.create();
+            try {
+                g2.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+                g2.drawImage(image, bounds.x + content.getX(), bounds.y + content.getY(), width, height, null);
+            } finally {
+                g2.dispose();
+            }
+        }
+
+        private void restore(final boolean contentVisible) {
+            wrapper.setOpaque(wrapperOpaque);
+            Container pane = wrapper.getParent();
+            if (paneOpaque && pane instanceof JComponent) {
+                ((JComponent) pane).setOpaque(true);
+            }
+            content.setVisible(contentVisible);
+        }
+    }
+
     protected class DarkPaneBorder extends PaneBorder {
 
+        private BufferedImage titleImage;
+        private int titleWidth;
+        private int titleHeight;
+        private double titleScaleX;
+        private double titleScaleY;
+        private boolean titleCollapsed;
+        private Color titleBackground;
+        private Color titleBorderColor;
+
         @Override
         protected void paintTitleBackground(final JXTaskPane group, final Graphics g2) {
             Graphics2D g = (Graphics2D) g2;
             int w = group.getWidth();
             int h = getTitleHeight(group);
-            if (group.isSpecial()) {
-                g.setColor(specialTitleBackground);
-            } else {
-                g.setColor(titleBackgroundGradientStart);
+            if (w <= 0 || h <= 0) return;
+            Color background = group.isSpecial() ? specialTitleBackground : titleBackgroundGradientStart;
+            boolean collapsed = isCollapsed();
+            AffineTransform at = g.getTransform();
+            double sx = at.getScaleX();
+            double sy = at.getScaleY();
+            if (!isPixelAligned(at, w, h)) {
+                paintTitleBackground(g, w, h, collapsed, background);
+                return;
             }
-            if (isCollapsed()) {
+            if (titleImage == null || titleWidth != w || titleHeight != h || titleScaleX != sx
+                || titleScaleY != sy || titleCollapsed != collapsed || !background.equals(titleBackground)
+                || !borderColor.equals(titleBorderColor)) {
+                titleImage = new BufferedImage((int) Math.rint(w * sx), (int) Math.rint(h * sy),
+                                               BufferedImage.TYPE_INT_ARGB);
+                Graphics2D imageGraphics = titleImage.createGraphics();
+                try {
+                    imageGraphics.scale(sx, sy);
+                    paintTitleBackground(imageGraphics, w, h, collapsed, background);
+                } finally {
+                    imageGraphics.dispose();
+                }
+                titleWidth = w;
+                titleHeight = h;
+                titleScaleX = sx;
+                titleScaleY = sy;
+                titleCollapsed = collapsed;
+                titleBackground = background;
+                titleBorderColor = borderColor;
+            }
+            g.drawImage(titleImage, 0, 0, w, h, null);
+        }
+
+        /*
+         * The cached image can only be drawn without resampling if it maps exactly onto device pixels.
+         */
+        private boolean isPixelAligned(final AffineTransform at, final int w, final int h) {
+            if (at.getShearX() != 0 || at.getShearY() != 0 || at.getScaleX() <= 0 || at.getScaleY() <= 0) {
+                return false;
+            }
+            return isIntegral(at.getTranslateX()) && isIntegral(at.getTranslateY())
+                   && isIntegral(w * at.getScaleX()) && isIntegral(h * at.getScaleY());
+        }
+
+        private boolean isIntegral(final double value) {
+            return Math.abs(value - Math.rint(value)) < 1E-6;
+        }
+
+        protected void paintTitleBackground(final Graphics2D g, final int w, final int h,
+                                            final boolean collapsed, final Color background) {
+            g.setColor(background);
+            if (collapsed) {
                 DarkUIUtil.fillRoundRect(g, 0, 0, w - 1, h - 1, getRoundHeight());
                 g.setColor(borderColor);
                 DarkUIUtil.paintLineBorder(g, 0, 0, w - 1, h - 1, getRoundHeight());
             } else {
-                Rectangle clip = g.getClip().getBounds();
+                Shape clip = g.getClip();
                 g.setClip(0, 0, w, h / 2 + 1);
 
                 DarkUIUtil.fillRoundRect(g, 0, 0, w - 1, h - 1, getRoundHeight());
@@ -40,7 +40,6 @@ import javax.swing.text.PlainView;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.View;
 import javax.swing.text.ViewFactory;
-import javax.swing.text.WrappedPlainView;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 
@@ -132,7 +131,7 @@ public class DarkTextAreaUI extends DarkTextUI {
                 JTextArea area = (JTextArea) c;
                 View v;
                 if (area.getLineWrap()) {
-                    v = new WrappedPlainView(elem, area.getWrapStyleWord());
+                    v = new DarkWrappedPlainView(elem, area.getWrapStyleWord());
                 } else {
                     v = new PlainView(elem);
                 }
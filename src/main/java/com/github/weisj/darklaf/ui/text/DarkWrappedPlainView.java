@@ -0,0 +1,600 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.text;
+
+import com.github.weisj.darklaf.util.SystemInfo;
+import com.github.weisj.darklaf.util.TimerUtil;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.LayeredHighlighter;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.text.TabExpander;
+import javax.swing.text.Utilities;
+import javax.swing.text.View;
+import javax.swing.text.ViewFactory;
+import javax.swing.text.WrappedPlainView;
+import java.awt.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/**
+ * Wrapped view that only breaks the lines that are actually needed.
+ * <p>
+ * After the width has changed the height of a line is estimated from its length. Lines are broken exactly once they
+ * are painted or a position inside them is queried. All remaining lines are refined in small chunks on the event
+ * dispatch thread starting at the visible region. On document changes only the damaged lines are broken again.
+ *
+ * @author Jannis Weis
+ */
+public class DarkWrappedPlainView extends WrappedPlainView {
+
+    private static final int REFINE_DELAY = 20;
+    private static final long REFINE_BUDGET = 8_000_000L;
+    private static final String SAMPLE_TEXT = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    /*
+     * The integer versions of the tabbed text methods and of drawLine are deprecated since Java 9 in favour of the
+     * floating point versions, which don't exist in Java 8.
+     */
+    private static final MethodHandle tabbedTextWidth;
+    private static final MethodHandle tabbedTextOffset;
+    private static final MethodHandle drawLineFloat;
+
+    static {
+        MethodHandle width = null;
+        MethodHandle offset = null;
+        MethodHandle line = null;
+        if (SystemInfo.isJavaVersionAtLeast("9")) {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                width = lookup.findStatic(Utilities.class, "getTabbedTextWidth",
+                                          MethodType.methodType(float.class, Segment.class, FontMetrics.class,
+                                                                float.class, TabExpander.class, int.class));
+                offset = lookup.findStatic(Utilities.class, "getTabbedTextOffset",
+                                           MethodType.methodType(int.class, Segment.class, FontMetrics.class,
+                                                                 float.class, float.class, TabExpander.class,
+                                                                 int.class, boolean.class));
+                line = lookup.findVirtual(WrappedPlainView.class, "drawLine",
+                                          MethodType.methodType(void.class, int.class, int.class,
+                                                                Graphics2D.class, float.class, float.class))
+                             .asType(MethodType.methodType(void.class, DarkWrappedPlainView.class, int.class,
+                                                           int.class, Graphics2D.class, float.class,
+                                                           float.class));
+            } catch (ReflectiveOperationException e) {
+                width = null;
+                offset = null;
+                line = null;
+            }
+        }
+        tabbedTextWidth = width;
+        tabbedTextOffset = offset;
+        drawLineFloat = line;
+    }
+
+    private final Segment segment = new Segment();
+    private final Timer refineTimer;
+    private FontMetrics fontMetrics;
+    private double averageCharWidth;
+    private int lastWidth = -1;
+
+    private int statsWidth = -1;
+    private double measuredChars;
+    private double measuredRows;
+
+    private int refineIndex;
+    private int refineStart = -1;
+    private int refineRemaining;
+
+    public DarkWrappedPlainView(final Element elem, final boolean wordWrap) {
+        super(elem, wordWrap);
+        refineTimer = TimerUtil.createNamedTimer("TextArea Line Wrap", REFINE_DELAY, e -> refineLines());
+        refineTimer.setRepeats(true);
+    }
+
+    @Override
+    public void setParent(final View parent) {
+        super.setParent(parent);
+        if (parent == null) {
+            refineTimer.stop();
+        }
+    }
+
+    @Override
+    protected void loadChildren(final ViewFactory f) {
+        Element elem = getElement();
+        int n = elem.getElementCount();
+        if (n > 0) {
+            View[] added = new View[n];
+            for (int i = 0; i < n; i++) {
+                added[i] = new WrappedLine(elem.getElement(i));
+            }
+            replace(0, 0, added);
+            scheduleRefinement();
+        }
+    }
+
+    @Override
+    public void setSize(final float width, final float height) {
+        updateFontMetrics();
+        super.setSize(width, height);
+        if (getWidth() != lastWidth) {
+            lastWidth = getWidth();
+            scheduleRefinement();
+        }
+    }
+
+    @Override
+    public void paint(final Graphics g, final Shape a) {
+        updateFontMetrics();
+        super.paint(g, a);
+    }
+
+    @Override
+    public void insertUpdate(final DocumentEvent e, final Shape a, final ViewFactory f) {
+        updateChildren(e, a);
+        Rectangle alloc = ((a != null) && isAllocationValid()) ? getInsideAllocation(a) : null;
+        View v = getViewAtPosition(e.getOffset(), alloc);
+        if (v != null) {
+            v.insertUpdate(e, alloc, f);
+        }
+    }
+
+    @Override
+    public void removeUpdate(final DocumentEvent e, final Shape a, final ViewFactory f) {
+        updateChildren(e, a);
+        Rectangle alloc = ((a != null) && isAllocationValid()) ? getInsideAllocation(a) : null;
+        View v = getViewAtPosition(e.getOffset(), alloc);
+        if (v != null) {
+            v.removeUpdate(e, alloc, f);
+        }
+    }
+
+    @Override
+    public void changedUpdate(final DocumentEvent e, final Shape a, final ViewFactory f) {
+        updateChildren(e, a);
+    }
+
+    /*
+     * Replace the views of the lines that have been added or removed. The new lines start out estimated.
+     */
+    protected void updateChildren(final DocumentEvent e, final Shape a) {
+        Element elem = getElement();
+        DocumentEvent.ElementChange ec = e.getChange(elem);
+        updateFontMetrics();
+        if (ec != null) {
+            Element[] removedElems = ec.getChildrenRemoved();
+            Element[] addedElems = ec.getChildrenAdded();
+            View[] added = new View[addedElems.length];
+            for (int i = 0; i < addedElems.length; i++) {
+                added[i] = new WrappedLine(addedElems[i]);
+            }
+            replace(ec.getIndex(), removedElems.length, added);
+            if (a != null) {
+                preferenceChanged(null, true, true);
+                getContainer().repaint();
+            }
+            if (added.length > 1) {
+                scheduleRefinement();
+            }
+        }
+    }
+
+    protected void updateFontMetrics() {
+        Component host = getContainer();
+        if (host == null) return;
+        Font f = host.getFont();
+        if (fontMetrics == null || !fontMetrics.getFont().equals(f)) {
+            fontMetrics = host.getFontMetrics(f);
+            averageCharWidth = Math.max(1.0, fontMetrics.stringWidth(SAMPLE_TEXT) / (double) SAMPLE_TEXT.length());
+            statsWidth = -1;
+        }
+    }
+
+    protected int getRowHeight() {
+        updateFontMetrics();
+        return fontMetrics != null ? fontMetrics.getHeight() : 0;
+    }
+
+    protected static boolean isWrapWidth(final int width) {
+        return width > 0 && width != Integer.MAX_VALUE;
+    }
+
+    /*
+     * Estimate the number of rows for a line of the given length from the lines broken so far.
+     */
+    protected int estimateRows(final int length, final int width) {
+        if (!isWrapWidth(width) || fontMetrics == null) return 1;
+        resetStatsIfNeeded(width);
+        double charsPerRow = measuredRows > 0 ? measuredChars / measuredRows : width / averageCharWidth;
+        return Math.max(1, (int) Math.ceil(length / Math.max(1.0, charsPerRow)));
+    }
+
+    private void recordRows(final int length, final int rows, final int width) {
+        resetStatsIfNeeded(width);
+        if (rows > 1) {
+            // The last row usually is only partially filled.
+            measuredChars += length;
+            measuredRows += rows - 0.5;
+        }
+    }
+
+    private void resetStatsIfNeeded(final int width) {
+        if (statsWidth != width) {
+            statsWidth = width;
+            measuredChars = 0;
+            measuredRows = 0;
+        }
+    }
+
+    protected void scheduleRefinement() {
+        refineStart = -1;
+        refineRemaining = getViewCount();
+        if (refineRemaining > 0) {
+            refineTimer.restart();
+        }
+    }
+
+    /*
+     * Break lines that still use an estimated height. This starts at the first visible line so the lines which are
+     * most likely to be seen next are exact first. Changes of lines above the visible region are compensated by
+     * adjusting the view position.
+     */
+    private void refineLines() {
+        Container host = getContainer();
+        int n = getViewCount();
+        int width = getWidth();
+        refineRemaining = Math.min(refineRemaining, n);
+        if (host == null || refineRemaining <= 0 || !isWrapWidth(width)) {
+            refineTimer.stop();
+            return;
+        }
+        if (refineStart < 0) {
+            refineStart = getFirstVisibleLine(host);
+            refineIndex = refineStart;
+        }
+        boolean changed = false;
+        int rowDeltaAbove = 0;
+        Document doc = getDocument();
+        if (doc instanceof AbstractDocument) {
+            ((AbstractDocument) doc).readLock();
+        }
+        try {
+            long deadline = System.nanoTime() + REFINE_BUDGET;
+            while (refineRemaining > 0 && System.nanoTime() < deadline) {
+                int index = refineIndex % n;
+                View v = getView(index);
+                if (v instanceof WrappedLine) {
+                    WrappedLine line = (WrappedLine) v;
+                    if (line.breakWidth != width) {
+                        int oldRows = line.reportedRows;
+                        line.breakLines(width);
+                        if (oldRows >= 0 && oldRows != line.rowCount) {
+                            changed = true;
+                            if (index < refineStart) {
+                                rowDeltaAbove += line.rowCount - oldRows;
+                            }
+                        }
+                    }
+                }
+                refineIndex = index + 1;
+                refineRemaining--;
+            }
+        } finally {
+            if (doc instanceof AbstractDocument) {
+                ((AbstractDocument) doc).readUnlock();
+            }
+        }
+        if (changed) {
+            preferenceChanged(null, false, true);
+            if (rowDeltaAbove != 0 && host.getParent() instanceof JViewport) {
+                JViewport viewport = (JViewport) host.getParent();
+                int delta = rowDeltaAbove * getRowHeight();
+                SwingUtilities.invokeLater(() -> {
+                    Point p = viewport.getViewPosition();
+                    p.y = Math.max(0, p.y + delta);
+                    viewport.setViewPosition(p);
+                });
+            }
+        }
+        if (refineRemaining <= 0) {
+            refineTimer.stop();
+        }
+    }
+
+    private int getFirstVisibleLine(final Container host) {
+        if (!(host instanceof JTextComponent)) return 0;
+        Rectangle visible = ((JTextComponent) host).getVisibleRect();
+        if (visible.isEmpty()) return 0;
+        Insets ins = host.getInsets();
+        Rectangle alloc = new Rectangle(ins.left, ins.top, host.getWidth() - ins.left - ins.right,
+                                        host.getHeight() - ins.top - ins.bottom);
+        int pos = viewToModel(visible.x, visible.y, alloc, new Position.Bias[1]);
+        return Math.max(0, getViewIndex(pos, Position.Bias.Forward));
+    }
+
+    /**
+     * View of a single line of the document. The rows are only computed when needed.
+     */
+    protected class WrappedLine extends View {
+
+        private int[] lineEnds;
+        private int rowCount = 1;
+        private int breakWidth = -1;
+        private int reportedRows = -1;
+
+        protected WrappedLine(final Element elem) {
+            super(elem);
+        }
+
+        @Override
+        public float getPreferredSpan(final int axis) {
+            switch (axis) {
+                case View.X_AXIS:
+                    float width = getWidth();
+                    if (width == Integer.MAX_VALUE) {
+                        // We have been initially set to MAX_VALUE, but we don't want this as our preferred.
+                        return 100f;
+                    }
+                    return width;
+                case View.Y_AXIS:
+                    int rowHeight = getRowHeight();
+                    int width2 = getWidth();
+                    reportedRows = breakWidth == width2
+                                   ? rowCount
+                                   : estimateRows(getEndOffset() - getStartOffset(), width2);
+                    return reportedRows * rowHeight;
+                default:
+                    throw new IllegalArgumentException("Invalid axis: " + axis);
+            }
+        }
+
+        /*
+         * Make sure the rows are exact for the current width.
+         */
+        protected void ensureRows() {
+            int width = getWidth();
+            if (breakWidth == width) return;
+            breakLines(width);
+            if (reportedRows >= 0 && reportedRows != rowCount) {
+                DarkWrappedPlainView.this.preferenceChanged(this, false, true);
+            }
+        }
+
+        protected void breakLines(final int width) {
+            breakWidth = width;
+            int start = getStartOffset();
+            int end = getEndOffset();
+            lineEnds = null;
+            rowCount = 1;
+            if (!isWrapWidth(width)) return;
+            int p1 = nextBreak(start, end);
+            if (p1 >= end) {
+                recordRows(end - start, 1, width);
+                return;
+            }
+            int[] ends = new int[8];
+            int count = 0;
+            int p0 = start;
+            while (p0 < end) {
+                p1 = nextBreak(p0, end);
+                if (count == ends.length) {
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                ends[count++] = p1 - start;
+                p0 = p1;
+            }
+            lineEnds = Arrays.copyOf(ends, count);
+            rowCount = count;
+            recordRows(end - start, count, width);
+        }
+
+        private int nextBreak(final int p0, final int end) {
+            int p1 = calculateBreakPosition(p0, end);
+            return p1 <= p0 ? p0 + 1 : p1;
+        }
+
+        /*
+         * Returns the row the offset relative to the start of the line is in.
+         */
+        private int findRow(final int offset) {
+            if (lineEnds == null) return 0;
+            int index = Arrays.binarySearch(lineEnds, offset);
+            int row = index >= 0 ? index + 1 : -index - 1;
+            return Math.min(row, rowCount - 1);
+        }
+
+        private int getRowStart(final int row) {
+            return getStartOffset() + (row > 0 ? lineEnds[row - 1] : 0);
+        }
+
+        private int getRowEnd(final int row) {
+            return lineEnds == null ? getEndOffset() : getStartOffset() + lineEnds[row];
+        }
+
+        @Override
+        public void paint(final Graphics g, final Shape a) {
+            ensureRows();
+            Rectangle alloc = (Rectangle) a;
+            int rowHeight = getRowHeight();
+            int y = alloc.y + fontMetrics.getAscent();
+            int x = alloc.x;
+            JTextComponent host = (JTextComponent) getContainer();
+            Highlighter h = host.getHighlighter();
+            LayeredHighlighter dh = (h instanceof LayeredHighlighter) ? (LayeredHighlighter) h : null;
+            Rectangle clip = g.getClipBounds();
+            int firstRow = 0;
+            int lastRow = rowCount - 1;
+            if (clip != null && rowHeight > 0) {
+                firstRow = Math.max(0, (clip.y - alloc.y) / rowHeight);
+                lastRow = Math.min(lastRow, (clip.y + clip.height - alloc.y) / rowHeight);
+            }
+            int end = getEndOffset();
+            y += firstRow * rowHeight;
+            for (int i = firstRow; i <= lastRow; i++) {
+                int p0 = getRowStart(i);
+                int p1 = getRowEnd(i);
+                if (dh != null) {
+                    int hOffset = (p1 == end) ? (p1 - 1) : p1;
+                    dh.paintLayeredHighlights(g, p0, hOffset, a, host, this);
+                }
+                drawRow(p0, p1, g, x, y);
+                y += rowHeight;
+            }
+        }
+
+        @Override
+        public Shape modelToView(final int pos, final Shape a, final Position.Bias b) throws BadLocationException {
+            ensureRows();
+            Rectangle alloc = a.getBounds();
+            alloc.height = getRowHeight();
+            alloc.width = 1;
+            int p0 = getStartOffset();
+            if (pos < p0 || pos > getEndOffset()) {
+                throw new BadLocationException("Position out of range", pos);
+            }
+            int testP = (b == Position.Bias.Forward) ? pos : Math.max(p0, pos - 1);
+            int row = findRow(testP - p0);
+            p0 = getRowStart(row);
+            alloc.y += alloc.height * row;
+            if (pos > p0) {
+                getDocument().getText(p0, pos - p0, segment);
+                alloc.x += getTabbedTextWidth(segment, fontMetrics, alloc.x, DarkWrappedPlainView.this, p0);
+            }
+            return alloc;
+        }
+
+        @Override
+        public int viewToModel(final float fx, final float fy, final Shape a, final Position.Bias[] bias) {
+            ensureRows();
+            bias[0] = Position.Bias.Forward;
+            Rectangle alloc = (Rectangle) a;
+            int x = (int) fx;
+            int y = (int) fy;
+            if (y < alloc.y) {
+                return getStartOffset();
+            } else if (y > alloc.y + alloc.height) {
+                return getEndOffset() - 1;
+            }
+            int rowHeight = getRowHeight();
+            int row = rowHeight > 0 ? (y - alloc.y) / rowHeight : rowCount - 1;
+            if (row >= rowCount) {
+                return getEndOffset() - 1;
+            }
+            int p0 = getRowStart(row);
+            int p1 = getRowEnd(row);
+            if (x < alloc.x) {
+                return p0;
+            } else if (x > alloc.x + alloc.width) {
+                return p1 - 1;
+            }
+            try {
+                getDocument().getText(p0, p1 - p0, segment);
+            } catch (BadLocationException e) {
+                return p0;
+            }
+            int n = getTabbedTextOffset(segment, fontMetrics, alloc.x, x, DarkWrappedPlainView.this, p0);
+            return Math.min(p0 + n, p1 - 1);
+        }
+
+        @Override
+        public void insertUpdate(final DocumentEvent e, final Shape a, final ViewFactory f) {
+            update(a);
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e, final Shape a, final ViewFactory f) {
+            update(a);
+        }
+
+        /*
+         * Only the damaged line is broken again.
+         */
+        private void update(final Shape a) {
+            int oldRows = reportedRows;
+            breakLines(getWidth());
+            if (oldRows != rowCount) {
+                DarkWrappedPlainView.this.preferenceChanged(this, false, true);
+                // Views after the receiver have moved.
+                getContainer().repaint();
+            } else if (a != null) {
+                Rectangle alloc = (Rectangle) a;
+                getContainer().repaint(alloc.x, alloc.y, alloc.width, alloc.height);
+            }
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void drawRow(final int p0, final int p1, final Graphics g, final int x, final int y) {
+        if (drawLineFloat != null && g instanceof Graphics2D) {
+            try {
+                drawLineFloat.invokeExact(this, p0, p1, (Graphics2D) g, (float) x, (float) y);
+                return;
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        drawLine(p0, p1, g, x, y);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static float getTabbedTextWidth(final Segment s, final FontMetrics metrics, final int x,
+                                            final TabExpander e, final int startOffset) {
+        if (tabbedTextWidth != null) {
+            try {
+                return (float) tabbedTextWidth.invokeExact(s, metrics, (float) x, e, startOffset);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return Utilities.getTabbedTextWidth(s, metrics, x, e, startOffset);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int getTabbedTextOffset(final Segment s, final FontMetrics metrics, final int x0, final int x,
+                                           final TabExpander e, final int startOffset) {
+        if (tabbedTextOffset != null) {
+            try {
+                return (int) tabbedTextOffset.invokeExact(s, metrics, (float) x0, (float) x, e, startOffset, true);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+        return Utilities.getTabbedTextOffset(s, metrics, x0, x, e, startOffset);
+    }
+
+    private static RuntimeException rethrow(final Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -24,26 +24,40 @@
 package com.github.weisj.darklaf.ui.toolbar;
 
 import com.github.weisj.darklaf.decorators.MouseResponder;
+import com.github.weisj.darklaf.util.ImageUtil;
+import com.github.weisj.darklaf.util.Scale;
+import com.github.weisj.darklaf.util.TimerUtil;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionAdapter;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
 
 /**
  * @author Jannis Weis
  */
 public class DarkToolBarUI extends DarkToolBarUIBridge {
 
+    /*
+     * Drag updates are coalesced to at most one per frame.
+     */
+    private static final int FRAME_DELAY = 16;
+    private static final float DRAG_WINDOW_OPACITY = 0.85f;
     private static final Robot robot = createRobot();
 
     private final DropPreviewPanel previewPanel = new DropPreviewPanel();
     protected Color background;
     private Dimension verticalDim = new Dimension(0, 0);
     private Dimension horizontalDim = new Dimension(0, 0);
-    private Timer timer = new Timer(5, e -> dragTo());
+    private final Timer dragTimer = TimerUtil.createNamedTimer("ToolBar drag", FRAME_DELAY, e -> updateDrag());
+    private boolean dragging;
+    private boolean dockingStateValid;
+    private String previewConstraint;
 
 
     public static ComponentUI createUI(final JComponent c) {
@@ -61,6 +75,7 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
 
     @Override
     public void installUI(final JComponent c) {
+        dragTimer.setRepeats(false);
         super.installUI(c);
         previewPanel.setToolBar(toolBar);
         dragWindow = createDragWindow(toolBar);
@@ -194,19 +209,35 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
         return null;
     }
 
+    /**
+     * Schedules an update of the drag. Updates are driven by mouse motion and coalesced to at most one per frame.
+     */
     @Override
     protected void dragTo() {
         if (toolBar.isFloatable()) {
-            Point offset = dragWindow.getOffset();
-            Point global = MouseInfo.getPointerInfo().getLocation();
-            Point dragPoint = new Point(global.x - offset.x, global.y - offset.y);
-            ensureDockingSource();
-
-            Point dockingPosition = dockingSource.getLocationOnScreen();
-            Point comparisonPoint = new Point(global.x - dockingPosition.x, global.y - dockingPosition.y);
+            dragging = true;
+            if (!dragTimer.isRunning()) {
+                dragTimer.start();
+            }
+        }
+    }
 
-            if (canDock(dockingSource, comparisonPoint)) {
-                String constraint = getDockingConstraint(dockingSource, comparisonPoint);
+    protected void updateDrag() {
+        if (!dragging || !toolBar.isFloatable()) return;
+        Point offset = dragWindow.getOffset();
+        Point global = MouseInfo.getPointerInfo().getLocation();
+        Point dragPoint = new Point(global.x - offset.x, global.y - offset.y);
+        ensureDockingSource();
+
+        Point dockingPosition = dockingSource.getLocationOnScreen();
+        Point comparisonPoint = new Point(global.x - dockingPosition.x, global.y - dockingPosition.y);
+
+        String constraint = canDock(dockingSource, comparisonPoint)
+                            ? getDockingConstraint(dockingSource, comparisonPoint)
+                            : null;
+        // Only touch the docking source if the drop location has changed.
+        if (!dockingStateValid || !Objects.equals(constraint, previewConstraint)) {
+            if (constraint != null) {
                 setOrientation(mapConstraintToOrientation(constraint));
                 dockingSource.add(previewPanel, constraint);
             } else {
@@ -214,10 +245,12 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
                 dockingSource.remove(previewPanel);
             }
             updateDockingSource();
-
-            dragWindow.setLocation(dragPoint.x, dragPoint.y);
-            startDrag();
+            previewConstraint = constraint;
+            dockingStateValid = true;
         }
+
+        dragWindow.setLocation(dragPoint.x, dragPoint.y);
+        startDrag();
     }
 
     private void ensureDockingSource() {
@@ -247,7 +280,6 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
             toolBar.setOrientation(SwingConstants.HORIZONTAL);
             horizontalDim = toolBar.getPreferredSize();
             toolBar.setOrientation(oldOrientation);
-            timer.start();
         }
     }
 
@@ -278,8 +310,11 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
     }
 
     protected void stopDrag() {
+        dragging = false;
+        dockingStateValid = false;
+        previewConstraint = null;
+        dragTimer.stop();
         dragWindow.setVisible(false);
-        timer.stop();
     }
 
     @Override
@@ -302,22 +337,67 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
 
     protected class DarkDragWindow extends DragWindow {
 
+        private BufferedImage dragImage;
+
         protected DarkDragWindow(final Window w) {
             super(w);
             setLayout(new BorderLayout());
             setBackground(toolBar.getBackground());
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            if (gc != null && gc.getDevice().isWindowTranslucencySupported(
+                    GraphicsDevice.WindowTranslucency.TRANSLUCENT)) {
+                setOpacity(DRAG_WINDOW_OPACITY);
+            }
             JPanel glassPane = new JPanel();
             glassPane.setOpaque(false);
             glassPane.addMouseListener(new MouseResponder(e -> {
                 e.consume();
                 if (e.getID() == MouseEvent.MOUSE_RELEASED) {
                     floatAt();
+                } else if (e.getID() == MouseEvent.MOUSE_EXITED) {
+                    /*
+                     * The pointer left the window before it could follow. Catch up as there
+                     * may be no further motion events if the pointer isn't above one of our windows.
+                     */
+                    dragTo();
                 }
             }));
+            glassPane.addMouseMotionListener(new MouseMotionAdapter() {
+                @Override
+                public void mouseDragged(final MouseEvent e) {
+                    dragTo();
+                }
+
+                @Override
+                public void mouseMoved(final MouseEvent e) {
+                    dragTo();
+                }
+            });
             setGlassPane(glassPane);
             glassPane.setVisible(true);
         }
 
+        @Override
+        public void paint(final Graphics g) {
+            int w = getWidth();
+            int h = getHeight();
+            if (w <= 0 || h <= 0) return;
+            if (dragImage == null || dragImage.getWidth() != Scale.scaleWidth(w)
+                    || dragImage.getHeight() != Scale.scaleHeight(h)) {
+                dragImage = ImageUtil.createImage(w, h, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2 = dragImage.createGraphics();
+                super.paint(g2);
+                g2.dispose();
+            }
+            g.drawImage(dragImage, 0, 0, w, h, null);
+        }
+
+        @Override
+        public void setVisible(final boolean b) {
+            dragImage = null;
+            super.setVisible(b);
+        }
+
         @Override
         public void setOrientation(final int o) {
             super.setOrientation(o);
@@ -326,6 +406,7 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
             size.height += 2;
             setSize(size);
             doLayout();
+            dragImage = null;
         }
 
         @Override
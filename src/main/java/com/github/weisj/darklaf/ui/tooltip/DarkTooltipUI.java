@@ -24,11 +24,13 @@
 package com.github.weisj.darklaf.ui.tooltip;
 
 import com.github.weisj.darklaf.components.alignment.Alignment;
+import com.github.weisj.darklaf.ui.html.DarkHTML;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicHTML;
 import javax.swing.plaf.basic.BasicToolTipUI;
 import javax.swing.text.View;
 import java.awt.*;
@@ -118,12 +120,21 @@ public class DarkTooltipUI extends BasicToolTipUI implements PropertyChangeListe
     @Override
     public void installUI(final JComponent c) {
         toolTip = (JToolTip) c;
+        /*
+         * The view may be shared through the html view cache. Make sure BasicHTML doesn't detach it.
+         */
+        c.putClientProperty(BasicHTML.propertyKey, null);
         super.installUI(c);
         toolTip.setBorder(new DarkTooltipBorder());
     }
 
     @Override
     public void uninstallUI(final JComponent c) {
+        /*
+         * BasicToolTipUI replaces the view using BasicHTML, which would detach a view shared through the html view
+         * cache. Remove it beforehand.
+         */
+        DarkHTML.updateRenderer(c, "");
         super.uninstallUI(c);
         toolTip = null;
     }
@@ -140,7 +151,10 @@ public class DarkTooltipUI extends BasicToolTipUI implements PropertyChangeListe
 
     @Override
     protected void installListeners(final JComponent c) {
-        super.installListeners(c);
+        /*
+         * The listener of BasicToolTipUI isn't installed, as it would parse the html text on each change.
+         * Text and component changes are handled in #propertyChange instead.
+         */
         c.addHierarchyListener(this);
         c.addPropertyChangeListener(this);
         toolTip.addMouseListener(exitListener);
@@ -217,6 +231,13 @@ public class DarkTooltipUI extends BasicToolTipUI implements PropertyChangeListe
         String key = evt.getPropertyName();
         if (evt.getSource() instanceof JToolTip) {
             JToolTip tooltip = (JToolTip) evt.getSource();
+            if ("tiptext".equals(key) || "font".equals(key) || "foreground".equals(key)) {
+                DarkHTML.updateRenderer(tooltip, tooltip.getTipText());
+            } else if (DarkHTML.isScaleChanged(evt)) {
+                DarkHTML.refreshRenderer(tooltip, tooltip.getTipText());
+            } else if ("component".equals(key)) {
+                componentChanged(tooltip);
+            }
             if (tooltip.getBorder() instanceof DarkTooltipBorder) {
                 DarkTooltipBorder border = (DarkTooltipBorder) tooltip.getBorder();
                 Object newVal = evt.getNewValue();
@@ -253,6 +274,25 @@ public class DarkTooltipUI extends BasicToolTipUI implements PropertyChangeListe
         }
     }
 
+    protected void componentChanged(final JToolTip tooltip) {
+        JComponent comp = tooltip.getComponent();
+        if (comp != null && !comp.isEnabled()) {
+            if (UIManager.getBorder("ToolTip.borderInactive") != null) {
+                LookAndFeel.installBorder(tooltip, "ToolTip.borderInactive");
+            } else {
+                LookAndFeel.installBorder(tooltip, "ToolTip.border");
+            }
+            if (UIManager.getColor("ToolTip.backgroundInactive") != null) {
+                LookAndFeel.installColors(tooltip, "ToolTip.backgroundInactive", "ToolTip.foregroundInactive");
+            } else {
+                LookAndFeel.installColors(tooltip, "ToolTip.background", "ToolTip.foreground");
+            }
+        } else {
+            LookAndFeel.installBorder(tooltip, "ToolTip.border");
+            LookAndFeel.installColors(tooltip, "ToolTip.background", "ToolTip.foreground");
+        }
+    }
+
     protected void updateSize() {
         toolTip.setTipText(toolTip.getTipText());
         toolTip.setPreferredSize(getPreferredSize(toolTip));
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.tree.TreePath;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Expansion event which is fired once for all paths expanded or collapsed by a {@link TreeBulkExpansion}. The path of
+ * the event is the root of the subtree for subtree operations. Otherwise it is the closest common ancestor of the changed
+ * paths.
+ *
+ * @author Jannis Weis
+ */
+public class BulkTreeExpansionEvent extends TreeExpansionEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<TreePath> paths;
+    private final boolean expansion;
+
+    public BulkTreeExpansionEvent(final JTree source, final TreePath path, final List<TreePath> paths,
+                                  final boolean expansion) {
+        super(source, path);
+        this.paths = Collections.unmodifiableList(paths);
+        this.expansion = expansion;
+    }
+
+    /**
+     * Returns the paths whose expanded state has changed.
+     *
+     * @return the paths.
+     */
+    public List<TreePath> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Returns whether the paths have been expanded or collapsed.
+     *
+     * @return true if the paths have been expanded.
+     */
+    public boolean isExpansion() {
+        return expansion;
+    }
+}
@@ -94,7 +94,7 @@ public class DarkDefaultTreeEditor extends DefaultTreeCellEditor {
                 && ((DarkTreeCellEditor) realEditor).isBooleanEditor(tree);
         if (isBoolRenderer) return true;
         TreePath path = tree.getPathForRow(row);
-        return path != null
+        return path != null && DarkTreeCellRenderer.isBooleanRenderingEnabled(tree)
                 && DarkTreeCellRenderer.unwrapBooleanIfPossible(path.getLastPathComponent()) instanceof Boolean;
     }
 
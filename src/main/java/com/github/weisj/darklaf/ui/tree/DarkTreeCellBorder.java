@@ -26,7 +26,7 @@ package com.github.weisj.darklaf.ui.tree;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
 import javax.swing.*;
-import javax.swing.border.Border;
+import javax.swing.border.AbstractBorder;
 import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
@@ -34,7 +34,9 @@ import java.awt.*;
 /**
  * @author Jannis Weis
  */
-public class DarkTreeCellBorder implements Border, UIResource {
+public class DarkTreeCellBorder extends AbstractBorder implements UIResource {
+
+    private static final long serialVersionUID = 1L;
 
     protected Color borderColor;
 
@@ -54,6 +56,12 @@ public class DarkTreeCellBorder implements Border, UIResource {
         return new InsetsUIResource(2, 5, 2, 5);
     }
 
+    @Override
+    public Insets getBorderInsets(final Component c, final Insets insets) {
+        insets.set(2, 5, 2, 5);
+        return insets;
+    }
+
     @Override
     public boolean isBorderOpaque() {
         return true;
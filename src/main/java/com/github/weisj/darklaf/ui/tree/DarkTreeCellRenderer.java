@@ -46,8 +46,12 @@ public class DarkTreeCellRenderer extends DefaultTreeCellRenderer implements Tre
     public Component getTreeCellRendererComponent(final JTree tree, final Object value, final boolean sel,
                                                   final boolean expanded, final boolean leaf, final int row,
                                                   final boolean hasFocus) {
-        Object val = unwrapBooleanIfPossible(value);
-        if (val instanceof Boolean && isBooleanRenderingEnabled(tree)) {
+        TreeRenderValueCache cache = DarkTreeUI.getRenderValueCache(tree);
+        Object val = null;
+        if (isBooleanRenderingEnabled(tree)) {
+            val = cache != null ? cache.getBooleanValue(value) : unwrapBooleanIfPossible(value);
+        }
+        if (val instanceof Boolean) {
             super.getTreeCellRendererComponent(tree, val, sel, expanded, leaf, row, hasFocus);
             Component comp = getBooleanRenderer(tree).getTreeCellRendererComponent(tree, value, sel, expanded, leaf,
                                                                                    row, hasFocus);
@@ -58,7 +62,12 @@ public class DarkTreeCellRenderer extends DefaultTreeCellRenderer implements Tre
             rendererComponent.setRenderComponent(comp);
             return rendererComponent;
         }
-        Component comp = super.getTreeCellRendererComponent(tree, value, sel, expanded, leaf, row, hasFocus);
+        Object renderValue = value;
+        if (cache != null && TreeRenderValueCache.isTextCacheable(tree)) {
+            // The default conversion returns the cached text unchanged.
+            renderValue = cache.getText(tree, value, sel, expanded, leaf, row, hasFocus);
+        }
+        Component comp = super.getTreeCellRendererComponent(tree, renderValue, sel, expanded, leaf, row, hasFocus);
         if (sel && !(DarkUIUtil.hasFocus(tree) || DarkUIUtil.hasFocus(comp))) {
             comp.setForeground(UIManager.getColor("Tree.selectionForegroundInactive"));
         }
@@ -70,7 +79,7 @@ public class DarkTreeCellRenderer extends DefaultTreeCellRenderer implements Tre
         if (val instanceof DefaultMutableTreeNode) {
             val = ((DefaultMutableTreeNode) val).getUserObject();
         }
-        if (!(val instanceof Boolean)) {
+        if (val != null && !(val instanceof Boolean)) {
             String str = val.toString();
             if ("true".equals(str)) val = true;
             if ("false".equals(str)) val = false;
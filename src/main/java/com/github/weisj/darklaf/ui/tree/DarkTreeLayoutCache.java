@@ -0,0 +1,717 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.tree.AbstractLayoutCache;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Layout cache for very large trees. Contrary to {@link javax.swing.tree.VariableHeightLayoutCache} no state is kept
+ * for nodes which aren't expanded. Rows are computed from the child counts of the expanded nodes and row heights are
+ * stored in primitive arrays. Rows are only measured once their bounds are requested, i.e. when they become visible.
+ * The height of unmeasured rows is estimated from the first measured row.
+ * <p>
+ * The preferred width is the maximum width of all rows measured so far.
+ * <p>
+ * Looking up the row of a path requires the index of the node in its parent, which most models only find by a linear
+ * search. Once this has been done repeatedly for the children of an expanded node their indices are cached until the
+ * children of the node change.
+ *
+ * @author Jannis Weis
+ */
+public class DarkTreeLayoutCache extends AbstractLayoutCache {
+
+    private static final int ROW_CACHE_LIMIT = 4096;
+    private static final int DEFAULT_ROW_HEIGHT = 16;
+
+    private final JTree tree;
+    private final Runnable sizeChangeCallback;
+    private final Map<TreePath, ExpandedNode> expandedNodes = new HashMap<>();
+    private final Map<TreePath, Integer> rowCache = new HashMap<>();
+    private final Rectangle boundsBuffer = new Rectangle();
+    private TreePath rootPath;
+    private ExpandedNode root;
+
+    /*
+     * Heights of the rows if the row height isn't fixed. A height of zero means the row hasn't been measured yet.
+     * The row offsets are the prefix sums of the heights and are computed lazily.
+     */
+    private int[] rowHeights;
+    private int[] rowOffsets;
+    private int heightCount;
+    private int validOffsets;
+    private int estimatedRowHeight;
+    private int maxWidth;
+    private boolean notifySizeChange = true;
+
+    /**
+     * Create a new layout cache.
+     *
+     * @param tree               the tree.
+     * @param sizeChangeCallback invoked when measuring rows has changed the preferred size.
+     */
+    public DarkTreeLayoutCache(final JTree tree, final Runnable sizeChangeCallback) {
+        this.tree = tree;
+        this.sizeChangeCallback = sizeChangeCallback;
+    }
+
+    @Override
+    public void setModel(final TreeModel newModel) {
+        super.setModel(newModel);
+        rebuild();
+    }
+
+    @Override
+    public void setRootVisible(final boolean rootVisible) {
+        if (isRootVisible() == rootVisible) return;
+        super.setRootVisible(rootVisible);
+        if (!rootVisible && root == null && rootPath != null) {
+            addExpandedNode(null, rootPath, -1);
+        }
+        resetRows();
+    }
+
+    @Override
+    public void setRowHeight(final int rowHeight) {
+        super.setRowHeight(rowHeight);
+        estimatedRowHeight = 0;
+        resetRows();
+    }
+
+    @Override
+    public void setNodeDimensions(final NodeDimensions nd) {
+        super.setNodeDimensions(nd);
+        invalidateSizes();
+    }
+
+    protected void rebuild() {
+        expandedNodes.clear();
+        root = null;
+        rootPath = null;
+        Object rootObject = treeModel != null ? treeModel.getRoot() : null;
+        if (rootObject != null) {
+            rootPath = new TreePath(rootObject);
+            if (!isRootVisible() || !treeModel.isLeaf(rootObject)) {
+                addExpandedNode(null, rootPath, -1);
+            }
+        }
+        maxWidth = 0;
+        resetRows();
+    }
+
+    @Override
+    public boolean isExpanded(final TreePath path) {
+        return path != null && expandedNodes.containsKey(path);
+    }
+
+    @Override
+    public boolean getExpandedState(final TreePath path) {
+        return isExpanded(path);
+    }
+
+    @Override
+    public void setExpandedState(final TreePath path, final boolean isExpanded) {
+        if (path == null || rootPath == null) return;
+        if (isExpanded) {
+            // Leaves can't be expanded. Only make them visible.
+            TreePath p = treeModel.isLeaf(path.getLastPathComponent()) ? path.getParentPath() : path;
+            if (p != null) ensureExpanded(p);
+        } else {
+            collapse(path);
+        }
+    }
+
+    @Override
+    public int getVisibleChildCount(final TreePath path) {
+        ExpandedNode node = path != null ? expandedNodes.get(path) : null;
+        return node != null ? node.rowCount : 0;
+    }
+
+    @Override
+    public int getRowCount() {
+        if (rootPath == null) return 0;
+        return (isRootVisible() ? 1 : 0) + (root != null ? root.rowCount : 0);
+    }
+
+    @Override
+    public TreePath getPathForRow(final int row) {
+        if (row < 0 || row >= getRowCount()) return null;
+        TreePath path = findPathForRow(row);
+        cacheRow(path, row);
+        return path;
+    }
+
+    private TreePath findPathForRow(final int row) {
+        int r = row;
+        if (isRootVisible()) {
+            if (r == 0) return rootPath;
+            r--;
+        }
+        ExpandedNode parent = root;
+        while (true) {
+            // Rows of the expanded children before the current position.
+            int offset = 0;
+            ExpandedNode next = null;
+            for (ExpandedNode child : parent.children) {
+                int childRow = child.childIndex + offset;
+                if (r < childRow) break;
+                if (r == childRow) return child.path;
+                if (r <= childRow + child.rowCount) {
+                    next = child;
+                    r -= childRow + 1;
+                    break;
+                }
+                offset += child.rowCount;
+            }
+            if (next == null) {
+                Object child = treeModel.getChild(parent.getNode(), r - offset);
+                return parent.path.pathByAddingChild(child);
+            }
+            parent = next;
+        }
+    }
+
+    @Override
+    public int getRowForPath(final TreePath path) {
+        if (path == null || rootPath == null) return -1;
+        Integer cached = rowCache.get(path);
+        if (cached != null) return cached;
+        int row = findRowForPath(path);
+        if (row >= 0) cacheRow(path, row);
+        return row;
+    }
+
+    private int findRowForPath(final TreePath path) {
+        if (!rootPath.getLastPathComponent().equals(path.getPathComponent(0))) return -1;
+        if (path.getPathCount() == 1) return isRootVisible() ? 0 : -1;
+        ExpandedNode parent = expandedNodes.get(path.getParentPath());
+        if (parent == null) return -1;
+        int childIndex = getIndexOfChild(parent, path.getLastPathComponent());
+        if (childIndex < 0) return -1;
+        return getRowForChild(parent, childIndex);
+    }
+
+    private int getIndexOfChild(final ExpandedNode parent, final Object child) {
+        Object node = parent.getNode();
+        if (parent.childIndices == null) {
+            // A single lookup is cheaper than building the map.
+            if (++parent.indexLookups < 2) return treeModel.getIndexOfChild(node, child);
+            int count = treeModel.getChildCount(node);
+            Map<Object, Integer> indices = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+            for (int i = 0; i < count; i++) {
+                indices.putIfAbsent(treeModel.getChild(node, i), i);
+            }
+            parent.childIndices = indices;
+        }
+        Integer index = parent.childIndices.get(child);
+        if (index != null && index < treeModel.getChildCount(node) && child.equals(treeModel.getChild(node, index))) {
+            return index;
+        }
+        if (index != null) {
+            // The model has changed without notifying the cache.
+            invalidateChildIndices(parent);
+        }
+        return treeModel.getIndexOfChild(node, child);
+    }
+
+    private void invalidateChildIndices(final ExpandedNode node) {
+        node.childIndices = null;
+        node.indexLookups = 0;
+    }
+
+    private int getRowForNode(final ExpandedNode node) {
+        if (node.parent == null) return isRootVisible() ? 0 : -1;
+        return getRowForChild(node.parent, node.childIndex);
+    }
+
+    private int getRowForChild(final ExpandedNode parent, final int childIndex) {
+        int row = getRowForNode(parent) + 1 + childIndex;
+        for (ExpandedNode child : parent.children) {
+            if (child.childIndex >= childIndex) break;
+            row += child.rowCount;
+        }
+        return row;
+    }
+
+    private void cacheRow(final TreePath path, final int row) {
+        if (rowCache.size() >= ROW_CACHE_LIMIT) {
+            rowCache.clear();
+        }
+        rowCache.put(path, row);
+    }
+
+    @Override
+    public TreePath getPathClosestTo(final int x, final int y) {
+        int rowCount = getRowCount();
+        if (rowCount == 0) return null;
+        return getPathForRow(getRowContainingY(y));
+    }
+
+    @Override
+    public Enumeration<TreePath> getVisiblePathsFrom(final TreePath path) {
+        int row = getRowForPath(path);
+        if (row < 0) return null;
+        return new Enumeration<TreePath>() {
+            private int nextRow = row;
+
+            @Override
+            public boolean hasMoreElements() {
+                return nextRow < getRowCount();
+            }
+
+            @Override
+            public TreePath nextElement() {
+                if (!hasMoreElements()) throw new NoSuchElementException("No more visible paths");
+                return getPathForRow(nextRow++);
+            }
+        };
+    }
+
+    @Override
+    public Rectangle getBounds(final TreePath path, final Rectangle placeIn) {
+        int row = getRowForPath(path);
+        if (row < 0) return null;
+        return getBounds(path, row, placeIn);
+    }
+
+    private Rectangle getBounds(final TreePath path, final int row, final Rectangle placeIn) {
+        Rectangle bounds = getNodeDimensions(path.getLastPathComponent(), row, path.getPathCount() - 1,
+                                             isExpanded(path), placeIn);
+        if (bounds == null) return null;
+        if (bounds.x + bounds.width > maxWidth) {
+            maxWidth = bounds.x + bounds.width;
+            sizeChanged();
+        }
+        if (isFixedRowHeight()) {
+            bounds.y = row * getRowHeight();
+            bounds.height = getRowHeight();
+        } else {
+            updateRowHeight(row, bounds.height);
+            bounds.y = getRowY(row);
+        }
+        return bounds;
+    }
+
+    @Override
+    public int getPreferredHeight() {
+        int rowCount = getRowCount();
+        if (isFixedRowHeight()) return rowCount * getRowHeight();
+        return getRowY(rowCount);
+    }
+
+    @Override
+    public int getPreferredWidth(final Rectangle bounds) {
+        int rowCount = getRowCount();
+        if (rowCount == 0) return 0;
+        Rectangle visible = bounds != null ? bounds : tree.getVisibleRect();
+        int first;
+        int last;
+        if (visible.isEmpty()) {
+            first = 0;
+            last = Math.min(rowCount, Math.max(1, tree.getVisibleRowCount())) - 1;
+        } else {
+            first = getRowContainingY(visible.y);
+            last = getRowContainingY(visible.y + visible.height - 1);
+        }
+        // The caller is about to update the size anyway.
+        boolean notify = notifySizeChange;
+        notifySizeChange = false;
+        try {
+            for (int row = first; row <= last; row++) {
+                TreePath path = getPathForRow(row);
+                if (path != null) getBounds(path, row, boundsBuffer);
+            }
+        } finally {
+            notifySizeChange = notify;
+        }
+        return maxWidth;
+    }
+
+    @Override
+    public void invalidateSizes() {
+        maxWidth = 0;
+        estimatedRowHeight = 0;
+        if (rowHeights != null) {
+            Arrays.fill(rowHeights, 0, heightCount, 0);
+        }
+        validOffsets = 0;
+    }
+
+    @Override
+    public void invalidatePathBounds(final TreePath path) {
+        invalidateRow(getRowForPath(path));
+    }
+
+    private void invalidateRow(final int row) {
+        if (rowHeights == null || row < 0 || row >= heightCount) return;
+        rowHeights[row] = 0;
+        validOffsets = Math.min(validOffsets, row + 1);
+    }
+
+    @Override
+    public void treeNodesChanged(final TreeModelEvent e) {
+        TreePath path = e.getTreePath();
+        if (path == null) return;
+        int[] indices = e.getChildIndices();
+        if (indices == null || indices.length == 0) {
+            // The node itself has changed. This only happens for the root.
+            invalidatePathBounds(path);
+            return;
+        }
+        ExpandedNode parent = expandedNodes.get(path);
+        if (parent == null) return;
+        invalidateChildIndices(parent);
+        for (int index : indices) {
+            invalidateRow(getRowForChild(parent, index));
+        }
+    }
+
+    @Override
+    public void treeNodesInserted(final TreeModelEvent e) {
+        ExpandedNode parent = e.getTreePath() != null ? expandedNodes.get(e.getTreePath()) : null;
+        int[] indices = e.getChildIndices();
+        if (parent == null || indices == null || indices.length == 0) return;
+        rowCache.clear();
+        invalidateChildIndices(parent);
+        indices = indices.clone();
+        Arrays.sort(indices);
+        for (int index : indices) {
+            for (ExpandedNode child : parent.children) {
+                if (child.childIndex >= index) child.childIndex++;
+            }
+            parent.childCount++;
+            adjustRowCount(parent, 1);
+        }
+        if (indices.length == 1) {
+            insertRows(getRowForChild(parent, indices[0]), 1);
+        } else {
+            resetRows();
+        }
+        sizeChanged();
+    }
+
+    @Override
+    public void treeNodesRemoved(final TreeModelEvent e) {
+        ExpandedNode parent = e.getTreePath() != null ? expandedNodes.get(e.getTreePath()) : null;
+        int[] indices = e.getChildIndices();
+        if (parent == null || indices == null || indices.length == 0) return;
+        rowCache.clear();
+        invalidateChildIndices(parent);
+        indices = indices.clone();
+        Arrays.sort(indices);
+        int firstRow = getRowForChild(parent, indices[0]);
+        int removedRows = 0;
+        for (int i = indices.length - 1; i >= 0; i--) {
+            int index = indices[i];
+            int count = 1;
+            for (int j = parent.children.size() - 1; j >= 0; j--) {
+                ExpandedNode child = parent.children.get(j);
+                if (child.childIndex == index) {
+                    count += child.rowCount;
+                    removeDescendants(child);
+                    expandedNodes.remove(child.path);
+                    parent.children.remove(j);
+                } else if (child.childIndex > index) {
+                    child.childIndex--;
+                }
+            }
+            parent.childCount--;
+            adjustRowCount(parent, -count);
+            removedRows += count;
+        }
+        if (indices.length == 1) {
+            removeRows(firstRow, removedRows);
+        } else {
+            resetRows();
+        }
+        if (parent.childCount == 0 && (parent.parent != null || isRootVisible())
+                && treeModel.isLeaf(parent.getNode())) {
+            // The node has become a leaf.
+            collapse(parent.path);
+        }
+        sizeChanged();
+    }
+
+    @Override
+    public void treeStructureChanged(final TreeModelEvent e) {
+        TreePath path = e.getTreePath();
+        if (path == null || path.getPathCount() == 1) {
+            rebuild();
+        } else {
+            ExpandedNode node = expandedNodes.get(path);
+            if (node != null) {
+                removeDescendants(node);
+                invalidateChildIndices(node);
+                int childCount = treeModel.getChildCount(node.getNode());
+                adjustRowCount(node, childCount - node.rowCount);
+                node.childCount = childCount;
+                resetRows();
+            } else {
+                invalidatePathBounds(path);
+            }
+        }
+        sizeChanged();
+    }
+
+    private ExpandedNode ensureExpanded(final TreePath path) {
+        ExpandedNode node = expandedNodes.get(path);
+        if (node != null) return node;
+        if (path.getPathCount() == 1) {
+            if (!rootPath.equals(path)) return null;
+            node = addExpandedNode(null, rootPath, -1);
+            insertRows(isRootVisible() ? 1 : 0, node.rowCount);
+            return node;
+        }
+        ExpandedNode parent = ensureExpanded(path.getParentPath());
+        if (parent == null) return null;
+        int childIndex = getIndexOfChild(parent, path.getLastPathComponent());
+        if (childIndex < 0) return null;
+        int row = getRowForChild(parent, childIndex);
+        node = addExpandedNode(parent, path, childIndex);
+        insertRows(row + 1, node.rowCount);
+        return node;
+    }
+
+    private void collapse(final TreePath path) {
+        TreePath parentPath = path.getParentPath();
+        if (parentPath != null) ensureExpanded(parentPath);
+        ExpandedNode node = expandedNodes.get(path);
+        if (node == null) return;
+        int row = getRowForNode(node);
+        int count = node.rowCount;
+        removeDescendants(node);
+        expandedNodes.remove(path);
+        if (node.parent != null) {
+            node.parent.children.remove(node);
+            adjustRowCount(node.parent, -count);
+        } else {
+            root = null;
+        }
+        removeRows(row + 1, count);
+    }
+
+    private ExpandedNode addExpandedNode(final ExpandedNode parent, final TreePath path, final int childIndex) {
+        ExpandedNode node = new ExpandedNode(parent, path, childIndex);
+        node.childCount = treeModel.getChildCount(path.getLastPathComponent());
+        expandedNodes.put(path, node);
+        if (parent != null) {
+            parent.addChild(node);
+        } else {
+            root = node;
+        }
+        adjustRowCount(node, node.childCount);
+        rowCache.clear();
+        return node;
+    }
+
+    private void removeDescendants(final ExpandedNode node) {
+        for (ExpandedNode child : node.children) {
+            removeDescendants(child);
+            expandedNodes.remove(child.path);
+        }
+        node.children.clear();
+        rowCache.clear();
+    }
+
+    private void adjustRowCount(final ExpandedNode node, final int delta) {
+        for (ExpandedNode n = node; n != null; n = n.parent) {
+            n.rowCount += delta;
+        }
+    }
+
+    /*
+     * Row height bookkeeping. Only used if the row height isn't fixed.
+     */
+
+    private void resetRows() {
+        rowCache.clear();
+        validOffsets = 0;
+        if (isFixedRowHeight()) {
+            rowHeights = null;
+            rowOffsets = null;
+            heightCount = 0;
+        } else {
+            heightCount = getRowCount();
+            rowHeights = new int[heightCount];
+            rowOffsets = new int[heightCount + 1];
+        }
+    }
+
+    private void insertRows(final int row, final int count) {
+        rowCache.clear();
+        if (rowHeights == null || count <= 0) return;
+        if (heightCount + count > rowHeights.length) {
+            int capacity = Math.max(heightCount + count, heightCount + (heightCount >> 1));
+            rowHeights = Arrays.copyOf(rowHeights, capacity);
+            rowOffsets = Arrays.copyOf(rowOffsets, capacity + 1);
+        }
+        System.arraycopy(rowHeights, row, rowHeights, row + count, heightCount - row);
+        Arrays.fill(rowHeights, row, row + count, 0);
+        heightCount += count;
+        validOffsets = Math.min(validOffsets, row + 1);
+    }
+
+    private void removeRows(final int row, final int count) {
+        rowCache.clear();
+        if (rowHeights == null || count <= 0) return;
+        System.arraycopy(rowHeights, row + count, rowHeights, row, heightCount - row - count);
+        heightCount -= count;
+        validOffsets = Math.min(validOffsets, row + 1);
+    }
+
+    private void updateRowHeight(final int row, final int height) {
+        if (row >= heightCount) return;
+        int h = Math.max(1, height);
+        if (estimatedRowHeight == 0) estimatedRowHeight = h;
+        if (getRowHeight(row) != h) {
+            validOffsets = Math.min(validOffsets, row + 1);
+            sizeChanged();
+        }
+        rowHeights[row] = h;
+    }
+
+    private int getRowHeight(final int row) {
+        int height = rowHeights[row];
+        return height != 0 ? height : getEstimatedRowHeight();
+    }
+
+    private int getEstimatedRowHeight() {
+        if (estimatedRowHeight == 0) {
+            TreePath path = heightCount > 0 ? getPathForRow(0) : null;
+            if (path != null) {
+                boolean notify = notifySizeChange;
+                notifySizeChange = false;
+                try {
+                    getBounds(path, 0, boundsBuffer);
+                } finally {
+                    notifySizeChange = notify;
+                }
+            }
+            if (estimatedRowHeight == 0) estimatedRowHeight = DEFAULT_ROW_HEIGHT;
+        }
+        return estimatedRowHeight;
+    }
+
+    private void ensureOffsets(final int row) {
+        if (row < validOffsets) return;
+        if (validOffsets == 0) {
+            rowOffsets[0] = 0;
+            validOffsets = 1;
+        }
+        for (int i = validOffsets; i <= row; i++) {
+            rowOffsets[i] = rowOffsets[i - 1] + getRowHeight(i - 1);
+        }
+        validOffsets = row + 1;
+    }
+
+    private int getRowY(final int row) {
+        if (isFixedRowHeight()) return row * getRowHeight();
+        int r = Math.min(row, heightCount);
+        ensureOffsets(r);
+        return rowOffsets[r];
+    }
+
+    private int getRowContainingY(final int y) {
+        int rowCount = getRowCount();
+        if (rowCount == 0 || y <= 0) return 0;
+        if (isFixedRowHeight()) return Math.min(rowCount - 1, y / getRowHeight());
+        ensureOffsets(0);
+        while (validOffsets <= heightCount && rowOffsets[validOffsets - 1] <= y) {
+            ensureOffsets(validOffsets);
+        }
+        // Last row whose offset is less or equal to y.
+        int lo = 0;
+        int hi = validOffsets - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (rowOffsets[mid] <= y) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return Math.min(rowCount - 1, lo);
+    }
+
+    private void sizeChanged() {
+        if (notifySizeChange && sizeChangeCallback != null) {
+            sizeChangeCallback.run();
+        }
+    }
+
+    private static final class ExpandedNode {
+        private final ExpandedNode parent;
+        private final TreePath path;
+        /*
+         * Expanded children sorted by their index.
+         */
+        private final List<ExpandedNode> children = new ArrayList<>();
+        private int childIndex;
+        private int childCount;
+        /*
+         * Number of visible descendants.
+         */
+        private int rowCount;
+        /*
+         * Indices of the children. Only built after repeated lookups.
+         */
+        private Map<Object, Integer> childIndices;
+        private int indexLookups;
+
+        private ExpandedNode(final ExpandedNode parent, final TreePath path, final int childIndex) {
+            this.parent = parent;
+            this.path = path;
+            this.childIndex = childIndex;
+        }
+
+        private Object getNode() {
+            return path.getLastPathComponent();
+        }
+
+        private void addChild(final ExpandedNode child) {
+            int lo = 0;
+            int hi = children.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (children.get(mid).childIndex < child.childIndex) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            children.add(lo, child);
+        }
+    }
+}
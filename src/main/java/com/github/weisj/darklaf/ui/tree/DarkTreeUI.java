@@ -24,12 +24,19 @@
 package com.github.weisj.darklaf.ui.tree;
 
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.ModelIndex;
+import com.github.weisj.darklaf.util.PrefixIndex;
 import com.github.weisj.darklaf.util.SystemInfo;
+import com.github.weisj.darklaf.util.TreeRowIndex;
 
 import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicTreeUI;
+import javax.swing.text.Position;
+import javax.swing.tree.AbstractLayoutCache;
 import javax.swing.tree.TreeCellEditor;
 import javax.swing.tree.TreeCellRenderer;
 import javax.swing.tree.TreeModel;
@@ -38,12 +45,18 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * @author Konstantin Bulenkov
@@ -53,6 +66,26 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
 
     public static final String TREE_TABLE_TREE_KEY = "JTree.treeTableTree";
     public static final String STRIPED_CLIENT_PROPERTY = "JTree.alternateRowColor";
+    /**
+     * If set to true the text and boolean value of each node are cached by the renderer until the model reports a
+     * change of the node. The text is only cached if the tree doesn't override {@link JTree#convertValueToText(Object,
+     * boolean, boolean, boolean, int, boolean)}.
+     */
+    public static final String RENDER_VALUE_CACHE_KEY = "JTree.cacheRenderValues";
+    /**
+     * If set to true type-ahead selection uses a sorted prefix index of the visible rows, which is built in the
+     * background and updated when the model changes or nodes are expanded or collapsed. The string value of a node is
+     * determined by the function set for {@link #PREFIX_INDEX_CONVERTER_KEY} or {@link Object#toString()} if there is
+     * none.
+     */
+    public static final String PREFIX_INDEX_KEY = "JTree.prefixIndex";
+    public static final String PREFIX_INDEX_CONVERTER_KEY = "JTree.prefixIndexConverter";
+    /**
+     * If set to true the tree uses a {@link DarkTreeLayoutCache}, which only measures the rows that are visible and
+     * keeps no state for collapsed nodes. Expanding and collapsing nodes with many children doesn't measure them. The
+     * indices of the children of an expanded node are cached once they have been looked up repeatedly.
+     */
+    public static final String LAZY_LAYOUT_CACHE_KEY = "JTree.lazyLayoutCache";
 
     private final MouseListener selectionListener = new MouseAdapter() {
         boolean handled = false;
@@ -112,6 +145,11 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
     protected Icon collapsedFocus;
     protected Icon collapsed;
     private boolean myOldRepaintAllRowValue;
+    private TreeRenderValueCache renderValueCache;
+    private TreeRowIndex prefixIndex;
+    private long timeFactor;
+    private boolean sizeUpdatePending;
+    private TreeExpansionListener expansionListener;
 
 
     public static ComponentUI createUI(final JComponent c) {
@@ -138,6 +176,215 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         myOldRepaintAllRowValue = UIManager.getBoolean("Tree.repaintWholeRow");
         UIManager.put("Tree.repaintWholeRow", true);
         tree.putClientProperty("JTree.alternateRowColor", UIManager.getBoolean("Tree.alternateRowColor"));
+        updateRenderValueCache();
+        updatePrefixIndex();
+    }
+
+    @Override
+    protected AbstractLayoutCache createLayoutCache() {
+        if (Boolean.TRUE.equals(tree.getClientProperty(LAZY_LAYOUT_CACHE_KEY))) {
+            return new DarkTreeLayoutCache(tree, this::layoutCacheSizeChanged);
+        }
+        return super.createLayoutCache();
+    }
+
+    protected void updateLayoutCache() {
+        completeEditing();
+        treeState = createLayoutCache();
+        configureLayoutCache();
+        updateLayoutCacheExpandedNodes();
+        updateSize();
+    }
+
+    @Override
+    protected TreeExpansionListener createTreeExpansionListener() {
+        expansionListener = super.createTreeExpansionListener();
+        return expansionListener;
+    }
+
+    /**
+     * Expand the given paths. The layout is updated once after all paths have been expanded.
+     *
+     * @param paths the paths to expand.
+     * @see TreeBulkExpansion
+     */
+    public void expandPaths(final Collection<TreePath> paths) {
+        createBulkExpansion(null, TreeBulkExpansion.orderedPaths(paths, true), true).run();
+    }
+
+    /**
+     * Collapse the given paths. The layout is updated once after all paths have been collapsed.
+     *
+     * @param paths the paths to collapse.
+     * @see TreeBulkExpansion
+     */
+    public void collapsePaths(final Collection<TreePath> paths) {
+        createBulkExpansion(null, TreeBulkExpansion.orderedPaths(paths, false), false).run();
+    }
+
+    /**
+     * Expand the subtree of the given path up to the given depth. A depth of 1 only expands the path itself.
+     *
+     * @param path  the root of the subtree.
+     * @param depth the depth.
+     * @see TreeBulkExpansion
+     */
+    public void expandSubtree(final TreePath path, final int depth) {
+        createBulkExpansion(path, TreeBulkExpansion.subtreePaths(treeModel, path, depth), true).run();
+    }
+
+    /**
+     * Expand the subtree of the given path up to the given depth in time slices on the event dispatch thread.
+     *
+     * @param path     the root of the subtree.
+     * @param depth    the depth.
+     * @param listener the listener notified about the progress. May be null.
+     * @return the bulk expansion, which can be used to cancel the operation.
+     * @see TreeBulkExpansion#start(TreeBulkExpansion.ProgressListener)
+     */
+    public TreeBulkExpansion expandSubtree(final TreePath path, final int depth,
+                                           final TreeBulkExpansion.ProgressListener listener) {
+        TreeBulkExpansion expansion = createBulkExpansion(path, TreeBulkExpansion.subtreePaths(treeModel, path,
+                                                                                                depth), true);
+        expansion.start(listener);
+        return expansion;
+    }
+
+    /**
+     * Collapse the given path and all its expanded descendants.
+     *
+     * @param path the root of the subtree.
+     * @see TreeBulkExpansion
+     */
+    public void collapseSubtree(final TreePath path) {
+        createBulkExpansion(path, TreeBulkExpansion.expandedPaths(tree, path), false).run();
+    }
+
+    protected TreeBulkExpansion createBulkExpansion(final TreePath path, final Iterator<TreePath> paths,
+                                                    final boolean expand) {
+        return new TreeBulkExpansion(this, tree, path, expand, paths);
+    }
+
+    /*
+     * Update the layout cache for the paths changed during a single slice of a bulk expansion.
+     */
+    void syncBulkExpansion(final List<TreePath> paths, final boolean expansion) {
+        if (paths.isEmpty()) return;
+        for (TreePath path : paths) {
+            treeState.setExpandedState(path, expansion);
+        }
+        updateLeadSelectionRow();
+        updateSize();
+    }
+
+    /*
+     * Update the layout once for all changed paths and notify the listeners with a single event.
+     */
+    void finishBulkExpansion(final BulkTreeExpansionEvent event) {
+        if (event.getPaths().isEmpty()) return;
+        TreePath path = event.getPath();
+        if (event.isExpansion() && path != null && tree.isExpanded(path)) {
+            // Updates the layout of the path and all its expanded descendants.
+            expansionListener.treeExpanded(event);
+        } else {
+            // The layout cache may not know about collapsed descendants of collapsed paths.
+            updateLayoutCache();
+            TreePath rootPath = treeModel != null && treeModel.getRoot() != null
+                                ? new TreePath(treeModel.getRoot()) : null;
+            if (rootPath != null && !tree.isExpanded(rootPath)) {
+                // Updates the lead selection row, which is otherwise done while updating the expanded descendants.
+                expansionListener.treeCollapsed(new TreeExpansionEvent(tree, rootPath));
+            }
+        }
+        TreeExpansionListener[] listeners = tree.getTreeExpansionListeners();
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            if (listeners[i] == expansionListener) continue;
+            if (event.isExpansion()) {
+                listeners[i].treeExpanded(event);
+            } else {
+                listeners[i].treeCollapsed(event);
+            }
+        }
+    }
+
+    /*
+     * The lazy layout cache measures rows while painting. Update the size once afterwards.
+     */
+    protected void layoutCacheSizeChanged() {
+        if (sizeUpdatePending) return;
+        sizeUpdatePending = true;
+        SwingUtilities.invokeLater(() -> {
+            sizeUpdatePending = false;
+            if (tree != null && treeState instanceof DarkTreeLayoutCache) {
+                updateSize();
+            }
+        });
+    }
+
+    @Override
+    protected void setModel(final TreeModel model) {
+        super.setModel(model);
+        if (renderValueCache != null) {
+            renderValueCache.setModel(model);
+        }
+    }
+
+    protected void updateRenderValueCache() {
+        boolean enabled = Boolean.TRUE.equals(tree.getClientProperty(RENDER_VALUE_CACHE_KEY));
+        if (enabled && renderValueCache == null) {
+            renderValueCache = new TreeRenderValueCache();
+            renderValueCache.setModel(treeModel);
+        } else if (!enabled && renderValueCache != null) {
+            renderValueCache.setModel(null);
+            renderValueCache = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void updatePrefixIndex() {
+        if (prefixIndex != null) {
+            prefixIndex.setTree(null);
+            prefixIndex = null;
+        }
+        if (Boolean.TRUE.equals(tree.getClientProperty(PREFIX_INDEX_KEY))) {
+            Object converter = tree.getClientProperty(PREFIX_INDEX_CONVERTER_KEY);
+            prefixIndex = new TreeRowIndex(converter instanceof Function
+                                           ? (Function<Object, String>) converter
+                                           : ModelIndex::toString);
+            prefixIndex.setTree(tree);
+        }
+    }
+
+    /**
+     * Returns the path of the next visible row whose string value starts with the given prefix. Used for type-ahead
+     * selection.
+     *
+     * @param prefix      the prefix.
+     * @param startingRow the row to start searching at.
+     * @return the path of the next matching row or null.
+     * @see JTree#getNextMatch(String, int, Position.Bias)
+     */
+    protected TreePath getNextMatch(final String prefix, final int startingRow) {
+        PrefixIndex index = prefixIndex != null ? prefixIndex.getIndex() : null;
+        if (index == null || index.size() != tree.getRowCount()) {
+            return tree.getNextMatch(prefix, startingRow, Position.Bias.Forward);
+        }
+        int row = index.nextMatch(prefix, startingRow);
+        return row >= 0 ? tree.getPathForRow(row) : null;
+    }
+
+    /**
+     * Get the cache for the render values of the tree or null if caching isn't enabled.
+     *
+     * @param tree the tree.
+     * @return the cache.
+     * @see #RENDER_VALUE_CACHE_KEY
+     */
+    public static TreeRenderValueCache getRenderValueCache(final JTree tree) {
+        if (tree.getUI() instanceof DarkTreeUI) {
+            return ((DarkTreeUI) tree.getUI()).renderValueCache;
+        }
+        return null;
     }
 
     @Override
@@ -162,6 +409,8 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         tree.putClientProperty("JTree.booleanRenderType", UIManager.getString("Tree.booleanRenderType"));
         tree.setShowsRootHandles(true);
         tree.putClientProperty("JTree.lineStyle", "Line");
+        Object time = UIManager.get("Tree.timeFactor");
+        timeFactor = time instanceof Long ? (Long) time : 1000L;
     }
 
     @Override
@@ -171,6 +420,11 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         tree.addMouseListener(selectionListener);
     }
 
+    @Override
+    protected KeyListener createKeyListener() {
+        return new TypeAheadKeyListener(super.createKeyListener());
+    }
+
     @Override
     protected void installKeyboardActions() {
         super.installKeyboardActions();
@@ -357,6 +611,14 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         super.uninstallListeners();
         tree.removeMouseListener(selectionListener);
         tree.removePropertyChangeListener(this);
+        if (renderValueCache != null) {
+            renderValueCache.setModel(null);
+            renderValueCache = null;
+        }
+        if (prefixIndex != null) {
+            prefixIndex.setTree(null);
+            prefixIndex = null;
+        }
     }
 
     @Override
@@ -717,6 +979,92 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
             tree.repaint();
         } else if ("JTree.lineStyle".equals(key)) {
             tree.repaint();
+        } else if (RENDER_VALUE_CACHE_KEY.equals(key)) {
+            updateRenderValueCache();
+            tree.repaint();
+        } else if (PREFIX_INDEX_KEY.equals(key) || PREFIX_INDEX_CONVERTER_KEY.equals(key)) {
+            updatePrefixIndex();
+        } else if (LAZY_LAYOUT_CACHE_KEY.equals(key)) {
+            updateLayoutCache();
+        }
+    }
+
+    /*
+     * Replaces the type-ahead handling of BasicTreeUI to look up matches in the prefix index if it is enabled.
+     */
+    protected class TypeAheadKeyListener implements KeyListener {
+
+        private final KeyListener delegate;
+        private String prefix = "";
+        private String typedString = "";
+        private long lastTime = 0L;
+
+        protected TypeAheadKeyListener(final KeyListener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void keyTyped(final KeyEvent e) {
+            if (prefixIndex == null) {
+                delegate.keyTyped(e);
+                return;
+            }
+            if (tree == null || tree.getRowCount() <= 0 || !tree.hasFocus() || !tree.isEnabled()) return;
+            if (e.isAltDown() || DarkUIUtil.isMenuShortcutKeyDown(e) || isNavigationKey(e)) return;
+            boolean startingFromSelection = true;
+            char c = e.getKeyChar();
+            long time = e.getWhen();
+            int startingRow = tree.getLeadSelectionRow();
+            if (time - lastTime < timeFactor) {
+                typedString += c;
+                if ((prefix.length() == 1) && (c == prefix.charAt(0))) {
+                    // Subsequent same key presses move the keyboard focus to the next
+                    // object that starts with the same letter.
+                    startingRow++;
+                } else {
+                    prefix = typedString;
+                }
+            } else {
+                startingRow++;
+                typedString = "" + c;
+                prefix = typedString;
+            }
+            lastTime = time;
+
+            if (startingRow < 0 || startingRow >= tree.getRowCount()) {
+                startingFromSelection = false;
+                startingRow = 0;
+            }
+            TreePath path = getNextMatch(prefix, startingRow);
+            if (path == null && startingFromSelection) {
+                path = getNextMatch(prefix, 0);
+            }
+            if (path != null) {
+                tree.setSelectionPath(path);
+                int row = getRowForPath(tree, path);
+                ensureRowsAreVisible(row, row);
+            }
+        }
+
+        @Override
+        public void keyPressed(final KeyEvent e) {
+            if (tree != null && isNavigationKey(e)) {
+                prefix = "";
+                typedString = "";
+                lastTime = 0L;
+            }
+            delegate.keyPressed(e);
+        }
+
+        @Override
+        public void keyReleased(final KeyEvent e) {
+            delegate.keyReleased(e);
+        }
+
+        private boolean isNavigationKey(final KeyEvent event) {
+            InputMap inputMap = tree.getInputMap(JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
+            KeyStroke key = KeyStroke.getKeyStrokeForEvent(event);
+            return inputMap != null && inputMap.get(key) != null;
         }
     }
 
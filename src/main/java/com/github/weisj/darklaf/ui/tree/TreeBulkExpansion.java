@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import com.github.weisj.darklaf.util.TimerUtil;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Expands or collapses many paths of a tree at once. While the paths are processed the tree expansion listeners are
+ * detached, so neither the layout cache nor any other listener is updated for each path. Once all paths are
+ * processed the layout cache is updated, the tree is revalidated once and a single {@link BulkTreeExpansionEvent} is
+ * fired. When processed in time slices the layout cache is additionally updated after each slice.
+ * <p>
+ * {@link javax.swing.event.TreeWillExpandListener}s are still notified for each path and may veto the change.
+ * <p>
+ * The operation can either be run at once or in time slices on the event dispatch thread, reporting the progress
+ * after each slice.
+ *
+ * @author Jannis Weis
+ * @see DarkTreeUI#expandSubtree(TreePath, int)
+ */
+public class TreeBulkExpansion {
+
+    private static final int SLICE_DELAY = 1;
+    private static final long SLICE_NANOS = 15_000_000L;
+    private static final int TIME_CHECK_INTERVAL = 256;
+
+    private final DarkTreeUI ui;
+    private final JTree tree;
+    private final TreePath path;
+    private final boolean expand;
+    private final Iterator<TreePath> paths;
+    private final List<TreePath> changedPaths = new ArrayList<>();
+    private ProgressListener progressListener;
+    private Timer timer;
+    private int processedCount;
+    private int syncedCount;
+    private boolean done;
+
+    protected TreeBulkExpansion(final DarkTreeUI ui, final JTree tree, final TreePath path, final boolean expand,
+                                final Iterator<TreePath> paths) {
+        this.ui = ui;
+        this.tree = tree;
+        this.path = path;
+        this.expand = expand;
+        this.paths = paths;
+    }
+
+    /**
+     * Returns the paths to expand the subtree of the given path up to the given depth, parents first.
+     *
+     * @param model the tree model.
+     * @param path  the root of the subtree.
+     * @param depth the depth relative to the root. A depth of 1 only expands the root itself.
+     * @return the paths.
+     */
+    public static Iterator<TreePath> subtreePaths(final TreeModel model, final TreePath path, final int depth) {
+        final int rootLevel = path.getPathCount();
+        final Deque<TreePath> stack = new ArrayDeque<>();
+        if (depth > 0 && !model.isLeaf(path.getLastPathComponent())) stack.push(path);
+        return new Iterator<TreePath>() {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public TreePath next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                TreePath next = stack.pop();
+                if (next.getPathCount() - rootLevel + 1 < depth) {
+                    Object node = next.getLastPathComponent();
+                    for (int i = model.getChildCount(node) - 1; i >= 0; i--) {
+                        Object child = model.getChild(node, i);
+                        if (!model.isLeaf(child)) stack.push(next.pathByAddingChild(child));
+                    }
+                }
+                return next;
+            }
+        };
+    }
+
+    /**
+     * Returns the given paths ordered such that expanding them processes parents first and collapsing them processes
+     * children first. Otherwise the tree would expand the parents of a collapsed path again.
+     *
+     * @param paths  the paths.
+     * @param expand whether the paths will be expanded.
+     * @return the ordered paths.
+     */
+    public static Iterator<TreePath> orderedPaths(final Collection<TreePath> paths, final boolean expand) {
+        List<TreePath> list = new ArrayList<>(paths);
+        Comparator<TreePath> comparator = Comparator.comparingInt(TreePath::getPathCount);
+        list.sort(expand ? comparator : comparator.reversed());
+        return list.iterator();
+    }
+
+    /**
+     * Returns the currently expanded paths in the subtree of the given path, children first.
+     *
+     * @param tree the tree.
+     * @param path the root of the subtree.
+     * @return the paths.
+     */
+    public static Iterator<TreePath> expandedPaths(final JTree tree, final TreePath path) {
+        List<TreePath> list = new ArrayList<>();
+        Enumeration<TreePath> expanded = tree.getExpandedDescendants(path);
+        if (expanded != null) {
+            while (expanded.hasMoreElements()) {
+                list.add(expanded.nextElement());
+            }
+        }
+        return orderedPaths(list, false);
+    }
+
+    /**
+     * Process all paths at once.
+     */
+    public void run() {
+        if (done) return;
+        process(-1);
+        finish();
+    }
+
+    /**
+     * Process the paths in time slices on the event dispatch thread. The listener is notified after each slice and
+     * once the operation is done.
+     *
+     * @param listener the progress listener. May be null.
+     */
+    public void start(final ProgressListener listener) {
+        if (done || timer != null) return;
+        progressListener = listener;
+        timer = TimerUtil.createNamedTimer("Tree Bulk Expansion", SLICE_DELAY, e -> processSlice());
+        timer.start();
+    }
+
+    /**
+     * Stop processing the remaining paths. The paths processed so far stay expanded or collapsed.
+     */
+    public void cancel() {
+        if (done) return;
+        if (timer != null) timer.stop();
+        finish();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public boolean isExpansion() {
+        return expand;
+    }
+
+    public JTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns the number of paths processed so far.
+     *
+     * @return the number of processed paths.
+     */
+    public int getProcessedCount() {
+        return processedCount;
+    }
+
+    private void processSlice() {
+        if (tree.getUI() != ui) {
+            // The ui has been uninstalled. The new one picks up the expanded state of the tree.
+            timer.stop();
+            done = true;
+            return;
+        }
+        process(SLICE_NANOS);
+        // Keep the layout in sync with the expanded state, as the tree may be painted between slices.
+        ui.syncBulkExpansion(changedPaths.subList(syncedCount, changedPaths.size()), expand);
+        syncedCount = changedPaths.size();
+        if (!paths.hasNext()) {
+            timer.stop();
+            finish();
+        } else if (progressListener != null) {
+            progressListener.progressChanged(this);
+        }
+    }
+
+    /*
+     * Process paths for the given time. A negative time processes all paths.
+     */
+    private void process(final long nanos) {
+        long end = System.nanoTime() + nanos;
+        TreeExpansionListener[] listeners = tree.getTreeExpansionListeners();
+        for (TreeExpansionListener listener : listeners) {
+            tree.removeTreeExpansionListener(listener);
+        }
+        try {
+            while (paths.hasNext()) {
+                TreePath p = paths.next();
+                boolean wasExpanded = tree.isExpanded(p);
+                if (expand) {
+                    tree.expandPath(p);
+                } else {
+                    tree.collapsePath(p);
+                }
+                if (tree.isExpanded(p) != wasExpanded) changedPaths.add(p);
+                processedCount++;
+                if (nanos >= 0 && processedCount % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > end) break;
+            }
+        } finally {
+            for (TreeExpansionListener listener : listeners) {
+                tree.addTreeExpansionListener(listener);
+            }
+        }
+    }
+
+    private void finish() {
+        done = true;
+        if (tree.getUI() == ui && !changedPaths.isEmpty()) {
+            TreePath eventPath = path != null ? path : commonAncestor(changedPaths);
+            ui.finishBulkExpansion(new BulkTreeExpansionEvent(tree, eventPath, changedPaths, expand));
+        }
+        if (progressListener != null) progressListener.progressChanged(this);
+    }
+
+    private static TreePath commonAncestor(final List<TreePath> paths) {
+        TreePath ancestor = paths.get(0);
+        for (TreePath p : paths) {
+            while (ancestor != null && !ancestor.isDescendant(p)) {
+                ancestor = ancestor.getParentPath();
+            }
+        }
+        return ancestor;
+    }
+
+    /**
+     * Listener notified about the progress of a bulk expansion.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Called after each processed slice and once the operation is done.
+         *
+         * @param expansion the bulk expansion.
+         * @see TreeBulkExpansion#isDone()
+         * @see TreeBulkExpansion#getProcessedCount()
+         */
+        void progressChanged(TreeBulkExpansion expansion);
+    }
+}
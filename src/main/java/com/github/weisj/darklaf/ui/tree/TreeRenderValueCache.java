@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.ui.tree;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Caches the text and boolean value of the nodes of a tree, so that repainting doesn't have to convert the user
+ * objects each time. Entries are invalidated by the events of the tree model.
+ * <p>
+ * The text is only cached for trees which use the default {@link JTree#convertValueToText(Object, boolean, boolean,
+ * boolean, int, boolean)}. The renderer passes the cached text to the tree instead of the node, which the default
+ * conversion returns unchanged. A custom conversion would receive a string instead of a node.
+ *
+ * @author Jannis Weis
+ */
+public class TreeRenderValueCache implements TreeModelListener {
+
+    private static final ClassValue<Boolean> defaultTextConversion = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("convertValueToText", Object.class, boolean.class, boolean.class,
+                                      boolean.class, int.class, boolean.class).getDeclaringClass() == JTree.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private final Map<Object, Entry> entries = new IdentityHashMap<>();
+    private TreeModel model;
+
+    public void setModel(final TreeModel model) {
+        if (this.model != null) {
+            this.model.removeTreeModelListener(this);
+        }
+        this.model = model;
+        if (model != null) {
+            model.addTreeModelListener(this);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Returns whether the text of the nodes of the tree can be cached.
+     *
+     * @param tree the tree.
+     * @return true if the tree uses the default text conversion.
+     */
+    public static boolean isTextCacheable(final JTree tree) {
+        return defaultTextConversion.get(tree.getClass());
+    }
+
+    public String getText(final JTree tree, final Object value, final boolean selected, final boolean expanded,
+                          final boolean leaf, final int row, final boolean hasFocus) {
+        Entry entry = getEntry(value);
+        if (entry.text == null) {
+            entry.text = tree.convertValueToText(value, selected, expanded, leaf, row, hasFocus);
+        }
+        return entry.text;
+    }
+
+    public Object getBooleanValue(final Object value) {
+        Entry entry = getEntry(value);
+        if (!entry.booleanValid) {
+            entry.booleanValue = DarkTreeCellRenderer.unwrapBooleanIfPossible(value);
+            entry.booleanValid = true;
+        }
+        return entry.booleanValue;
+    }
+
+    private Entry getEntry(final Object value) {
+        return entries.computeIfAbsent(value, k -> new Entry());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public void treeNodesChanged(final TreeModelEvent e) {
+        Object[] children = e.getChildren();
+        if (children == null) {
+            if (e.getTreePath() != null) {
+                entries.remove(e.getTreePath().getLastPathComponent());
+            }
+        } else {
+            for (Object child : children) {
+                entries.remove(child);
+            }
+        }
+    }
+
+    @Override
+    public void treeNodesInserted(final TreeModelEvent e) {
+    }
+
+    @Override
+    public void treeNodesRemoved(final TreeModelEvent e) {
+        // The descendants of the removed nodes aren't part of the event.
+        entries.clear();
+    }
+
+    @Override
+    public void treeStructureChanged(final TreeModelEvent e) {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private String text;
+        private Object booleanValue;
+        private boolean booleanValid;
+    }
+}
@@ -45,6 +45,22 @@ public final class GraphicsUtil {
     public static GraphicsContext setupAntialiasing(final Graphics g2, final boolean enableAA,
                                                     final boolean ignoreSystemSettings) {
         GraphicsContext config = new GraphicsContext(g2);
+        setupTextAntialiasing(g2, enableAA, ignoreSystemSettings);
+        return config;
+    }
+
+    /**
+     * Applies the text antialiasing hints without saving the previous state of the graphics object. Useful if the
+     * caller already holds a {@link GraphicsContext} it restores afterwards.
+     *
+     * @param g2 the graphics object.
+     */
+    public static void setupTextAntialiasing(final Graphics g2) {
+        setupTextAntialiasing(g2, true, false);
+    }
+
+    public static void setupTextAntialiasing(final Graphics g2, final boolean enableAA,
+                                             final boolean ignoreSystemSettings) {
         if (g2 instanceof Graphics2D) {
             Graphics2D g = (Graphics2D) g2;
             Toolkit tk = Toolkit.getDefaultToolkit();
@@ -58,7 +74,6 @@ public final class GraphicsUtil {
                                    : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
             }
         }
-        return config;
     }
 
 
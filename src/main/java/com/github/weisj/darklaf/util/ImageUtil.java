@@ -26,12 +26,21 @@ package com.github.weisj.darklaf.util;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author Jannis Weis
  */
 public final class ImageUtil {
 
+    private static final int IMAGE_POOL_SIZE = 8;
+    private static final Map<Long, BufferedImage> imagePool = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, BufferedImage> eldest) {
+            return size() > IMAGE_POOL_SIZE;
+        }
+    };
 
     private ImageUtil() {
     }
@@ -60,14 +69,54 @@ public final class ImageUtil {
 
     public static Image scaledImageFromComponent(final Component c, final Rectangle bounds,
                                                  final double scalex, final double scaley) {
-        BufferedImage image;
-        boolean scale = scalex != 1.0 || scaley != 1.0;
-        if (scale) {
-            image = new BufferedImage((int) (scalex * bounds.width), (int) (scaley * bounds.height),
-                                      BufferedImage.TYPE_INT_RGB);
-        } else {
-            image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_RGB);
+        BufferedImage image = new BufferedImage((int) (scalex * bounds.width), (int) (scaley * bounds.height),
+                                                BufferedImage.TYPE_INT_RGB);
+        paintComponentImage(image, c, bounds, scalex, scaley);
+        return image;
+    }
+
+    /**
+     * Create image from component using an image from the pool.
+     *
+     * @param c      the component.
+     * @param bounds the bounds inside the component to capture.
+     * @return image containing the captured area.
+     * @see #getPooledImage(int, int)
+     */
+    public static BufferedImage pooledImageFromComponent(final Component c, final Rectangle bounds) {
+        BufferedImage image = getPooledImage((int) (Scale.SCALE_X * bounds.width),
+                                             (int) (Scale.SCALE_Y * bounds.height));
+        paintComponentImage(image, c, bounds, Scale.SCALE_X, Scale.SCALE_Y);
+        return image;
+    }
+
+    /**
+     * Returns an image of the given size in pixels. Images are pooled by size and reused by subsequent requests, hence
+     * the image must not be used after the next request of the same size. This is intended for short-lived images e.g.
+     * for drag and drop. The content of the previous user is cleared. Must be called on the event dispatch thread.
+     *
+     * @param width  the width.
+     * @param height the height.
+     * @return the image of type {@link BufferedImage#TYPE_INT_RGB}.
+     */
+    public static BufferedImage getPooledImage(final int width, final int height) {
+        int w = Math.max(1, width);
+        int h = Math.max(1, height);
+        long key = ((long) w << 32) | h;
+        BufferedImage image = imagePool.computeIfAbsent(key, k -> new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB));
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, w, h);
+        } finally {
+            g.dispose();
         }
+        return image;
+    }
+
+    private static void paintComponentImage(final BufferedImage image, final Component c, final Rectangle bounds,
+                                            final double scalex, final double scaley) {
+        boolean scale = scalex != 1.0 || scaley != 1.0;
         final Graphics2D g2d = (Graphics2D) image.getGraphics();
         if (scale) {
             g2d.scale(scalex, scaley);
@@ -76,7 +125,6 @@ public final class ImageUtil {
         c.printAll(g2d);
 
         g2d.dispose();
-        return image;
     }
 
     /**
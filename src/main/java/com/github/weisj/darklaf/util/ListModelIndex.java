@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.util;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.function.Function;
+
+/**
+ * Maintains a {@link PrefixIndex} for the elements of a {@link ListModel}.
+ *
+ * @author Jannis Weis
+ * @see ModelIndex
+ */
+public class ListModelIndex extends ModelIndex implements ListDataListener {
+
+    private ListModel<?> model;
+    private Object selectedItem;
+
+    /**
+     * Create a new index.
+     *
+     * @param converter the function used to convert an element to its string representation.
+     */
+    public ListModelIndex(final Function<Object, String> converter) {
+        super(converter);
+    }
+
+    /**
+     * Set the model to index. Passing null releases the current model.
+     *
+     * @param model the model.
+     */
+    public void setModel(final ListModel<?> model) {
+        if (this.model == model) return;
+        if (this.model != null) {
+            this.model.removeListDataListener(this);
+        }
+        this.model = model;
+        selectedItem = getSelectedItem();
+        if (model != null) {
+            model.addListDataListener(this);
+            rebuild();
+        } else {
+            release();
+        }
+    }
+
+    public ListModel<?> getModel() {
+        return model;
+    }
+
+    @Override
+    protected Object[] getElements() {
+        if (model == null) return null;
+        int size = model.getSize();
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = model.getElementAt(i);
+        }
+        return elements;
+    }
+
+    @Override
+    public void intervalAdded(final ListDataEvent e) {
+        modelChanged();
+    }
+
+    @Override
+    public void intervalRemoved(final ListDataEvent e) {
+        modelChanged();
+    }
+
+    @Override
+    public void contentsChanged(final ListDataEvent e) {
+        if (e.getIndex0() == -1 && e.getIndex1() == -1) {
+            /*
+             * An interval of -1 means the whole model has changed. Combo box models also report selection changes
+             * this way, which don't require rebuilding the index.
+             */
+            Object selected = getSelectedItem();
+            boolean selectionChanged = selected != selectedItem;
+            selectedItem = selected;
+            if (selectionChanged) return;
+        }
+        modelChanged();
+    }
+
+    private Object getSelectedItem() {
+        return model instanceof ComboBoxModel ? ((ComboBoxModel<?>) model).getSelectedItem() : null;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.util;
+
+import javax.swing.*;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Maintains a {@link PrefixIndex} for the elements of a model. The index is built on a background thread and rebuilt
+ * after the model has changed. While the index is being built {@link #getIndex()} returns null and clients should
+ * fall back to a linear search.
+ * <p>
+ * This class must only be used on the event dispatch thread.
+ *
+ * @author Jannis Weis
+ */
+public abstract class ModelIndex {
+
+    private static final int REBUILD_DELAY = 250;
+
+    private final Function<Object, String> converter;
+    private final Timer rebuildTimer;
+    private PrefixIndex index;
+    private Future<?> task;
+    private int generation;
+
+    /**
+     * Create a new index.
+     *
+     * @param converter the function used to convert an element to its string representation.
+     */
+    public ModelIndex(final Function<Object, String> converter) {
+        this.converter = converter;
+        rebuildTimer = TimerUtil.createNamedTimer(getClass().getSimpleName() + " rebuild", REBUILD_DELAY,
+                                                  e -> rebuild());
+        rebuildTimer.setRepeats(false);
+    }
+
+    public static String toString(final Object element) {
+        if (element == null) return null;
+        return element instanceof String ? (String) element : element.toString();
+    }
+
+    /**
+     * Returns the index if it is up to date with the model.
+     *
+     * @return the index or null if it is currently being built.
+     */
+    public PrefixIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the elements to index. The position of an element is the index reported by the prefix index.
+     *
+     * @return the elements or null if there is no model.
+     */
+    protected abstract Object[] getElements();
+
+    protected void invalidate() {
+        generation++;
+        index = null;
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    protected void release() {
+        invalidate();
+        rebuildTimer.stop();
+    }
+
+    protected void rebuild() {
+        invalidate();
+        Object[] elements = getElements();
+        if (elements == null) return;
+        int gen = generation;
+        task = PrefixIndex.createAsync(elements, converter, result -> {
+            if (gen == generation) {
+                index = result;
+                task = null;
+            }
+        });
+    }
+
+    protected void modelChanged() {
+        invalidate();
+        rebuildTimer.restart();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.util;
+
+import javax.swing.*;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Sorted index of the upper case string representations of a list of elements. Supports finding all elements whose
+ * string starts with a given prefix in logarithmic time.
+ * <p>
+ * Instances are immutable and hence may be created off the event dispatch thread.
+ *
+ * @author Jannis Weis
+ */
+public final class PrefixIndex {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "Darklaf Index Builder");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final String[] keys;
+    private final int[] indices;
+
+    private PrefixIndex(final String[] keys, final int[] indices) {
+        this.keys = keys;
+        this.indices = indices;
+    }
+
+    /**
+     * Create the index for the given elements.
+     *
+     * @param elements  the elements. The position in the array is the index reported by the prefix index.
+     * @param converter the function used to convert an element to its string representation.
+     * @return the index.
+     */
+    public static PrefixIndex create(final Object[] elements, final Function<Object, String> converter) {
+        Entry[] entries = new Entry[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            String str = converter.apply(elements[i]);
+            entries[i] = new Entry(str != null ? str.toUpperCase() : "", i);
+        }
+        Arrays.parallelSort(entries);
+        String[] keys = new String[entries.length];
+        int[] indices = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key;
+            indices[i] = entries[i].index;
+        }
+        return new PrefixIndex(keys, indices);
+    }
+
+    /**
+     * Create the index on a background thread. The callback is invoked on the event dispatch thread.
+     *
+     * @param elements  the elements.
+     * @param converter the function used to convert an element to its string representation.
+     * @param callback  the callback receiving the index.
+     * @return the future of the background task.
+     * @see #create(Object[], Function)
+     */
+    public static Future<?> createAsync(final Object[] elements, final Function<Object, String> converter,
+                                        final Consumer<PrefixIndex> callback) {
+        return executor.submit(() -> {
+            PrefixIndex index = create(elements, converter);
+            SwingUtilities.invokeLater(() -> callback.accept(index));
+        });
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the first position in [from, to) whose key starts with or is greater than the prefix.
+     *
+     * @param prefix the upper case prefix.
+     * @param from   the start of the range (inclusive).
+     * @param to     the end of the range (exclusive).
+     * @return the position.
+     */
+    public int lowerBound(final String prefix, final int from, final int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the first position in [from, to) whose key neither starts with nor is less than the prefix.
+     *
+     * @param prefix the upper case prefix.
+     * @param from   the start of the range (inclusive).
+     * @param to     the end of the range (exclusive).
+     * @return the position.
+     */
+    public int upperBound(final String prefix, final int from, final int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            String key = keys[mid];
+            if (key.startsWith(prefix) || key.compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the element index of the next match in the position range [from, to). The next match is the smallest
+     * element index greater or equal to startIndex. If there is none the search wraps around.
+     *
+     * @param from       the start of the position range (inclusive).
+     * @param to         the end of the position range (exclusive).
+     * @param startIndex the element index to start at.
+     * @return the element index of the match or -1 if the range is empty.
+     */
+    public int nextMatch(final int from, final int to, final int startIndex) {
+        int next = Integer.MAX_VALUE;
+        int first = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            int index = indices[i];
+            first = Math.min(first, index);
+            if (index >= startIndex && index < next) {
+                next = index;
+                if (next == startIndex) break;
+            }
+        }
+        if (next != Integer.MAX_VALUE) return next;
+        return first != Integer.MAX_VALUE ? first : -1;
+    }
+
+    /**
+     * Returns the element indices in the position range [from, to) in ascending order.
+     *
+     * @param from the start of the position range (inclusive).
+     * @param to   the end of the position range (exclusive).
+     * @return the element indices.
+     */
+    public int[] getElementIndices(final int from, final int to) {
+        int[] result = Arrays.copyOfRange(indices, from, to);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the element index of the next element starting with the given prefix.
+     *
+     * @param prefix     the prefix.
+     * @param startIndex the element index to start at.
+     * @return the element index of the match or -1 if there is none.
+     * @see #nextMatch(int, int, int)
+     */
+    public int nextMatch(final String prefix, final int startIndex) {
+        String key = prefix.toUpperCase();
+        int from = lowerBound(key, 0, keys.length);
+        int to = upperBound(key, from, keys.length);
+        return nextMatch(from, to, startIndex);
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        private final String key;
+        private final int index;
+
+        private Entry(final String key, final int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(final Entry o) {
+            int cmp = key.compareTo(o.key);
+            return cmp != 0 ? cmp : Integer.compare(index, o.index);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.weisj.darklaf.util;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.function.Function;
+
+/**
+ * Maintains a {@link PrefixIndex} for the visible rows of a {@link JTree}. The position of a node in the index is its
+ * row. The index is rebuilt if the model changes or nodes are expanded or collapsed.
+ *
+ * @author Jannis Weis
+ * @see ModelIndex
+ */
+public class TreeRowIndex extends ModelIndex implements TreeModelListener, TreeExpansionListener,
+                                                         PropertyChangeListener {
+
+    private JTree tree;
+    private TreeModel model;
+
+    /**
+     * Create a new index.
+     *
+     * @param converter the function used to convert a node to its string representation.
+     */
+    public TreeRowIndex(final Function<Object, String> converter) {
+        super(converter);
+    }
+
+    /**
+     * Set the tree to index. Passing null releases the current tree.
+     *
+     * @param tree the tree.
+     */
+    public void setTree(final JTree tree) {
+        if (this.tree == tree) return;
+        if (this.tree != null) {
+            this.tree.removeTreeExpansionListener(this);
+            this.tree.removePropertyChangeListener(this);
+            setModel(null);
+        }
+        this.tree = tree;
+        if (tree != null) {
+            tree.addTreeExpansionListener(this);
+            tree.addPropertyChangeListener(this);
+            setModel(tree.getModel());
+            rebuild();
+        } else {
+            release();
+        }
+    }
+
+    public JTree getTree() {
+        return tree;
+    }
+
+    protected void setModel(final TreeModel model) {
+        if (this.model != null) {
+            this.model.removeTreeModelListener(this);
+        }
+        this.model = model;
+        if (model != null) {
+            model.addTreeModelListener(this);
+        }
+    }
+
+    @Override
+    protected Object[] getElements() {
+        if (tree == null) return null;
+        int rowCount = tree.getRowCount();
+        Object[] elements = new Object[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            TreePath path = tree.getPathForRow(i);
+            elements[i] = path != null ? path.getLastPathComponent() : null;
+        }
+        return elements;
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent evt) {
+        String key = evt.getPropertyName();
+        if (JTree.TREE_MODEL_PROPERTY.equals(key)) {
+            setModel(tree.getModel());
+            modelChanged();
+        } else if (JTree.ROOT_VISIBLE_PROPERTY.equals(key)) {
+            modelChanged();
+        }
+    }
+
+    @Override
+    public void treeExpanded(final TreeExpansionEvent event) {
+        modelChanged();
+    }
+
+    @Override
+    public void treeCollapsed(final TreeExpansionEvent event) {
+        modelChanged();
+    }
+
+    @Override
+    public void treeNodesChanged(final TreeModelEvent e) {
+        modelChanged();
+    }
+
+    @Override
+    public void treeNodesInserted(final TreeModelEvent e) {
+        modelChanged();
+    }
+
+    @Override
+    public void treeNodesRemoved(final TreeModelEvent e) {
+        modelChanged();
+    }
+
+    @Override
+    public void treeStructureChanged(final TreeModelEvent e) {
+        modelChanged();
+    }
+}
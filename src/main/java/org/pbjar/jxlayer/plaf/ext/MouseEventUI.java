@@ -30,6 +30,7 @@
  */
 package org.pbjar.jxlayer.plaf.ext;
 
+import com.github.weisj.darklaf.util.TimerUtil;
 import org.jdesktop.jxlayer.JXLayer;
 import org.jdesktop.jxlayer.plaf.AbstractLayerUI;
 import org.jdesktop.jxlayer.plaf.LayerUI;
@@ -67,11 +68,32 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
     }
 
 
+    /**
+     * Length of a frame in milliseconds. Only the first and the latest mouse motion event of a frame are
+     * re-dispatched.
+     */
+    private static final int MOTION_FRAME_DELAY = 16;
+
     private Component lastEnteredTarget, lastPressedTarget;
     private boolean dispatchingMode = false;
 
     private JXLayer<? extends V> installedLayer;
 
+    private final AffineTransform inverseTransform = new AffineTransform();
+    private AffineTransform inverseTransformSource;
+    private boolean inverseTransformValid;
+
+    private Component cachedTarget;
+
+    private MouseEvent pendingMotionEvent;
+    private Point pendingMotionPoint;
+    private final Timer motionTimer = TimerUtil.createNamedTimer("MouseEventUI Motion", MOTION_FRAME_DELAY,
+                                                                 e -> motionFrameElapsed());
+
+    public MouseEventUI() {
+        motionTimer.setRepeats(false);
+    }
+
     /**
      * Overridden to override the {@link LayerUI} implementation that only consults the view.
      * <p>
@@ -106,6 +128,12 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
      */
     @Override
     public void uninstallUI(final JComponent c) {
+        motionTimer.stop();
+        pendingMotionEvent = null;
+        pendingMotionPoint = null;
+        cachedTarget = null;
+        lastEnteredTarget = null;
+        lastPressedTarget = null;
         installedLayer = null;
         super.uninstallUI(c);
     }
@@ -130,12 +158,34 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
             MouseEvent mouseEvent = (MouseEvent) event;
             if (!dispatchingMode) {
                 // Process an original mouse event
-                dispatchingMode = true;
-                try {
-                    redispatch(mouseEvent, layer);
-                } finally {
-                    dispatchingMode = false;
+                int id = mouseEvent.getID();
+                /*
+                 * The location is resolved right away, as the source component may have moved by the time a held
+                 * back event is re-dispatched.
+                 */
+                Point layerPoint = calculateLayerPoint(layer, mouseEvent);
+                if (id == MouseEvent.MOUSE_MOVED || id == MouseEvent.MOUSE_DRAGGED) {
+                    /*
+                     * The first motion event of a frame is re-dispatched immediately. Of the events following
+                     * within the same frame only the latest one is re-dispatched once the frame has elapsed.
+                     */
+                    if (!motionTimer.isRunning()) {
+                        motionTimer.start();
+                        redispatchAt(mouseEvent, layer, layerPoint);
+                        return;
+                    }
+                    if (layer.getView() != null && mouseEvent.getComponent() != layer.getGlassPane()) {
+                        mouseEvent.consume();
+                    }
+                    if (pendingMotionEvent != null && pendingMotionEvent.getID() != id) {
+                        dispatchPendingMotionEvent();
+                    }
+                    pendingMotionEvent = mouseEvent;
+                    pendingMotionPoint = layerPoint;
+                    return;
                 }
+                flushPendingMotionEvent();
+                redispatchAt(mouseEvent, layer, layerPoint);
             } else {
                 // Process a generated mouse event
                 /*
@@ -144,15 +194,70 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
                  */
                 if (MouseEvent.MOUSE_ENTERED == mouseEvent.getID()
                         || MouseEvent.MOUSE_EXITED == mouseEvent.getID()) {
-                    layer.getGlassPane().setCursor(null);
+                    updateCursor(layer, null);
                 } else {
                     Component component = mouseEvent.getComponent();
-                    layer.getGlassPane().setCursor(component.getCursor());
+                    updateCursor(layer, component.getCursor());
                 }
             }
         }
     }
 
+    /**
+     * Re-dispatches the motion event which has been held back, if any.
+     */
+    protected void flushPendingMotionEvent() {
+        motionTimer.stop();
+        dispatchPendingMotionEvent();
+    }
+
+    private void motionFrameElapsed() {
+        if (pendingMotionEvent != null) {
+            /*
+             * Re-dispatching the held back event starts a new frame.
+             */
+            dispatchPendingMotionEvent();
+            motionTimer.start();
+        }
+    }
+
+    private void dispatchPendingMotionEvent() {
+        MouseEvent event = pendingMotionEvent;
+        Point layerPoint = pendingMotionPoint;
+        pendingMotionEvent = null;
+        pendingMotionPoint = null;
+        JXLayer<? extends V> layer = installedLayer;
+        if (event == null || layer == null) return;
+        redispatchAt(event, layer, layerPoint);
+    }
+
+    private void redispatchAt(final MouseEvent event, final JXLayer<? extends V> layer, final Point layerPoint) {
+        dispatchingMode = true;
+        try {
+            redispatch(event, layer, transformPoint(layer, layerPoint));
+        } finally {
+            dispatchingMode = false;
+        }
+    }
+
+    /**
+     * Discards the cached inverse transform and the cached target component. Has to be called if the transform
+     * changes.
+     */
+    protected void invalidateTransformCache() {
+        inverseTransformValid = false;
+        cachedTarget = null;
+    }
+
+    private void updateCursor(final JXLayer<? extends V> layer, final Cursor cursor) {
+        Component glassPane = layer.getGlassPane();
+        if (cursor == null) {
+            if (glassPane.isCursorSet()) glassPane.setCursor(null);
+        } else if (!glassPane.isCursorSet() || glassPane.getCursor() != cursor) {
+            glassPane.setCursor(cursor);
+        }
+    }
+
     /**
      * Re-dispatches the event to the first component in the hierarchy that has a {@link MouseWheelListener}
      * registered.
@@ -193,8 +298,8 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
     }
 
 
-    private Point calculateTargetPoint(final JXLayer<? extends V> layer,
-                                       final MouseEvent mouseEvent) {
+    private Point calculateLayerPoint(final JXLayer<? extends V> layer,
+                                      final MouseEvent mouseEvent) {
         Point point = mouseEvent.getPoint();
         SwingUtilities.convertPointToScreen(point, mouseEvent.getComponent());
         SwingUtilities.convertPointFromScreen(point, layer);
@@ -212,7 +317,7 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
         // Rectangle parentRectangle = new Rectangle(-layerBounds.x,
         // -layerBounds.y, parent.getWidth(), parent.getHeight());
         // if (parentRectangle.contains(point)) {
-        return transformPoint(layer, point);
+        return point;
         // } else {
         // return new Point(-1, -1);
         // }
@@ -343,25 +448,48 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
     private Component getTarget(final JXLayer<? extends V> layer, final Point targetPoint) {
         Component view = layer.getView();
         if (view == null) {
+            cachedTarget = null;
             return null;
         } else {
             Point viewPoint = SwingUtilities.convertPoint(layer, targetPoint,
                                                           view);
-            return SwingUtilities.getDeepestComponentAt(view, viewPoint.x,
-                                                        viewPoint.y);
+            if (isCachedTargetAt(view, viewPoint)) return cachedTarget;
+            cachedTarget = SwingUtilities.getDeepestComponentAt(view, viewPoint.x,
+                                                                viewPoint.y);
+            return cachedTarget;
+        }
+    }
+
+    /*
+     * The cached target is still the deepest component at the point if it contains the point, has no child at
+     * the point and none of its ancestors allows children to overlap.
+     */
+    private boolean isCachedTargetAt(final Component view, final Point viewPoint) {
+        Component target = cachedTarget;
+        if (target == null || !target.isShowing()) return false;
+        Component c = target;
+        int x = viewPoint.x;
+        int y = viewPoint.y;
+        while (c != view) {
+            if (c == null) return false;
+            Container parent = c.getParent();
+            if (parent instanceof JComponent && !((JComponent) parent).isOptimizedDrawingEnabled()) return false;
+            c = parent;
         }
+        Point p = SwingUtilities.convertPoint(view, x, y, target);
+        if (!target.contains(p.x, p.y)) return false;
+        return SwingUtilities.getDeepestComponentAt(target, p.x, p.y) == target;
     }
 
     @SuppressWarnings("Duplicates")
     private void redispatch(final MouseEvent originalEvent,
-                            final JXLayer<? extends V> layer) {
+                            final JXLayer<? extends V> layer, final Point realPoint) {
         if (layer.getView() != null) {
             if (originalEvent.getComponent() != layer.getGlassPane()) {
                 originalEvent.consume();
             }
             MouseEvent newEvent = null;
 
-            Point realPoint = calculateTargetPoint(layer, originalEvent);
             Component realTarget = getTarget(layer, realPoint);
             if (realTarget != null) {
                 realTarget = getListeningComponent(originalEvent, realTarget);
@@ -456,11 +584,19 @@ public class MouseEventUI<V extends JComponent> extends AbstractLayerUI<V> {
     private Point transformPoint(final JXLayer<? extends V> layer, final Point point) {
         AffineTransform transform = this.getTransform(layer);
         if (transform != null) {
-            try {
-                transform.inverseTransform(point, point);
-            } catch (NoninvertibleTransformException e) {
-                e.printStackTrace();
+            if (!inverseTransformValid || !transform.equals(inverseTransformSource)) {
+                try {
+                    inverseTransform.setTransform(transform.createInverse());
+                    inverseTransformSource = new AffineTransform(transform);
+                    inverseTransformValid = true;
+                    cachedTarget = null;
+                } catch (NoninvertibleTransformException e) {
+                    e.printStackTrace();
+                    inverseTransformValid = false;
+                    return point;
+                }
             }
+            inverseTransform.transform(point, point);
         }
         return point;
     }
@@ -53,11 +53,13 @@ import javax.swing.text.GlyphView.GlyphPainter;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -129,6 +131,11 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private static final boolean delegatePossible;
     private static final RepaintManager wrappedManager = new TransformRepaintManager();
     private static final Logger LOGGER = Logger.getLogger(TransformUI.class.getName());
+    /**
+     * The default value for {@link #setDirtyRegionMergeFactor(double)}.
+     */
+    public static final double DEFAULT_DIRTY_REGION_MERGE_FACTOR = 2.0;
+    private static final int MAX_DIRTY_REGIONS = 16;
 
     static {
         LOGGER.setUseParentHandlers(false);
@@ -149,7 +156,10 @@ public class TransformUI extends MouseEventUI<JComponent> {
                                                 : ": RepaintManager.setCurrentManager() will be used."));
     }
 
-    private final ChangeListener changeListener = e -> revalidateLayer();
+    private final ChangeListener changeListener = e -> {
+        invalidateTransformCache();
+        revalidateLayer();
+    };
     private final RepaintManagerProvider rpmProvider =
             new RepaintManagerProvider() {
 
@@ -179,6 +189,11 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private TransformModel transformModel;
     private LayoutManager originalLayout;
 
+    private final List<Rectangle> dirtyRegions = new ArrayList<>();
+    private JXLayer<? extends JComponent> dirtyRegionLayer;
+    private boolean dirtyRegionFlushScheduled;
+    private double dirtyRegionMergeFactor = DEFAULT_DIRTY_REGION_MERGE_FACTOR;
+
     /**
      * Construct a {@link TransformUI} with a {@link DefaultTransformModel}.
      */
@@ -453,10 +468,116 @@ public class TransformUI extends MouseEventUI<JComponent> {
         if (at == null) {
             return rect;
         } else {
-            Area area = new Area(rect);
-            area.transform(at);
-            return area.getBounds();
+            return at.createTransformedShape(rect).getBounds();
+        }
+    }
+
+    /**
+     * Set the heuristic used to merge dirty regions of descendants. Two transformed regions are repainted together if
+     * they intersect or the area of their union is at most {@code factor} times the sum of their areas. Regions which
+     * are far apart are repainted separately instead of repainting everything in between. A value {@code <= 0}
+     * disables the coalescing and forwards every region to the {@link RepaintManager} right away.
+     *
+     * @param factor the merge factor.
+     * @see #DEFAULT_DIRTY_REGION_MERGE_FACTOR
+     */
+    public void setDirtyRegionMergeFactor(final double factor) {
+        this.dirtyRegionMergeFactor = factor;
+    }
+
+    /**
+     * Get the heuristic used to merge dirty regions of descendants.
+     *
+     * @return the merge factor.
+     * @see #setDirtyRegionMergeFactor(double)
+     */
+    public double getDirtyRegionMergeFactor() {
+        return dirtyRegionMergeFactor;
+    }
+
+    /**
+     * Primarily intended for use by {@link RepaintManager}. Marks a region of the view as dirty. The region is
+     * transformed and merged with the other regions requested during the current event. The merged regions are
+     * repainted once afterwards.
+     *
+     * @param layer  the layer
+     * @param region the dirty region in the untransformed coordinates of the layer
+     */
+    public void addDirtyRegion(final JXLayer<? extends JComponent> layer, final Rectangle region) {
+        Rectangle r = transform(region, layer);
+        if (r.isEmpty()) return;
+        if (dirtyRegionMergeFactor <= 0) {
+            RepaintManager.currentManager(layer).addDirtyRegion(layer, r.x, r.y, r.width, r.height);
+            return;
+        }
+        if (dirtyRegionLayer != layer) {
+            flushDirtyRegions();
+            dirtyRegionLayer = layer;
+        }
+        mergeDirtyRegion(r);
+        if (!dirtyRegionFlushScheduled) {
+            dirtyRegionFlushScheduled = true;
+            SwingUtilities.invokeLater(this::flushDirtyRegions);
+        }
+    }
+
+    private void mergeDirtyRegion(final Rectangle region) {
+        Rectangle merged = region;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<Rectangle> iterator = dirtyRegions.iterator(); iterator.hasNext(); ) {
+                Rectangle r = iterator.next();
+                if (shouldMerge(merged, r)) {
+                    merged = merged.union(r);
+                    iterator.remove();
+                    changed = true;
+                }
+            }
+        }
+        dirtyRegions.add(merged);
+        if (dirtyRegions.size() > MAX_DIRTY_REGIONS) {
+            Rectangle union = dirtyRegions.get(0);
+            for (Rectangle r : dirtyRegions) {
+                union = union.union(r);
+            }
+            dirtyRegions.clear();
+            dirtyRegions.add(union);
+        }
+    }
+
+    private boolean shouldMerge(final Rectangle a, final Rectangle b) {
+        if (a.intersects(b)) return true;
+        long minX = Math.min(a.x, b.x);
+        long minY = Math.min(a.y, b.y);
+        long maxX = Math.max((long) a.x + a.width, (long) b.x + b.width);
+        long maxY = Math.max((long) a.y + a.height, (long) b.y + b.height);
+        double unionArea = (double) (maxX - minX) * (maxY - minY);
+        double sumArea = (double) a.width * a.height + (double) b.width * b.height;
+        return unionArea <= dirtyRegionMergeFactor * sumArea;
+    }
+
+    private void flushDirtyRegions() {
+        dirtyRegionFlushScheduled = false;
+        JXLayer<? extends JComponent> layer = dirtyRegionLayer;
+        if (layer == null || dirtyRegions.isEmpty()) {
+            dirtyRegions.clear();
+            return;
+        }
+        if (dirtyRegions.size() == 1 || !layer.isShowing()) {
+            RepaintManager manager = RepaintManager.currentManager(layer);
+            for (Rectangle r : dirtyRegions) {
+                manager.addDirtyRegion(layer, r.x, r.y, r.width, r.height);
+            }
+        } else {
+            /*
+             * The RepaintManager would unite the regions again, hence they are painted one by one.
+             */
+            for (Rectangle r : dirtyRegions) {
+                layer.paintImmediately(r);
+            }
         }
+        dirtyRegions.clear();
     }
 
     /**
@@ -594,15 +715,8 @@ public class TransformUI extends MouseEventUI<JComponent> {
             if (c.isShowing()) {
                 JXLayer<? extends JComponent> layer = findJXLayer(c);
                 TransformUI ui = (TransformUI) layer.getUI();
-                Point point = c.getLocationOnScreen();
-                SwingUtilities.convertPointFromScreen(point, layer);
-                Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
-                                                             layer);
-                RepaintManager.currentManager(layer).addDirtyRegion(layer,
-                                                                    transformPortRegion.x,
-                                                                    transformPortRegion.y,
-                                                                    transformPortRegion.width,
-                                                                    transformPortRegion.height);
+                Point point = SwingUtilities.convertPoint(c, x, y, layer);
+                ui.addDirtyRegion(layer, new Rectangle(point.x, point.y, w, h));
             }
         }
 
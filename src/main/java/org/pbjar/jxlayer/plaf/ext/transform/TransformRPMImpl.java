@@ -73,9 +73,9 @@ public final class TransformRPMImpl {
     /**
      * Searches upwards in the component hierarchy for a {@link JXLayer} ancestor with an enabled {@link TransformUI}.
      * <p>
-     * If found, the dirty rectangle is transformed to a rectangle targeted at that {@link JXLayer} and the argument
-     * manager's {@link RepaintManager#addDirtyRegion(JComponent, int, int, int, int)} is invoked. {@code true} is
-     * returned.
+     * If found, the dirty rectangle is handed to {@link TransformUI#addDirtyRegion(JXLayer, Rectangle)}, which
+     * transforms it to a rectangle targeted at that {@link JXLayer} and marks it dirty once the regions of the current
+     * event have been merged. {@code true} is returned.
      * </p>
      * <p>
      * Else, (@code false} is returned.
@@ -98,13 +98,8 @@ public final class TransformRPMImpl {
             if (layer != null) {
                 LayerUI<?> layerUI = layer.getUI();
                 TransformUI ui = (TransformUI) layerUI;
-                Point point = aComponent.getLocationOnScreen();
-                SwingUtilities.convertPointFromScreen(point, layer);
-                Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
-                                                             (JXLayer<JComponent>) layer);
-                manager.addDirtyRegion(layer,
-                                       transformPortRegion.x, transformPortRegion.y,
-                                       transformPortRegion.width, transformPortRegion.height);
+                Point point = SwingUtilities.convertPoint(aComponent, x, y, layer);
+                ui.addDirtyRegion((JXLayer<JComponent>) layer, new Rectangle(point.x, point.y, w, h));
                 return true;
             }
         }
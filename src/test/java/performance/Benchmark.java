@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.LafManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Timing harness shared by the benchmarks, so their results are measured and reported the same way.
+ *
+ * @author Jannis Weis
+ */
+final class Benchmark {
+
+    static final int WARMUP = 50;
+    static final int ITERATIONS = 200;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Installs the look and feel for a benchmark which paints offscreen. Has to be called before any other AWT class
+     * is used.
+     *
+     * @throws Exception if installing fails.
+     */
+    static void setupHeadless() throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        SwingUtilities.invokeAndWait(LafManager::install);
+    }
+
+    /**
+     * Installs the look and feel for a benchmark which has to show its components on screen.
+     *
+     * @param logger the logger of the benchmark.
+     * @return false if there is no display and the benchmark can't run.
+     * @throws Exception if installing fails.
+     */
+    static boolean setupOnScreen(final Logger logger) throws Exception {
+        if (GraphicsEnvironment.isHeadless()) {
+            logger.warning("Benchmark needs a display.");
+            return false;
+        }
+        SwingUtilities.invokeAndWait(LafManager::install);
+        return true;
+    }
+
+    /**
+     * Runs the task on the event dispatch thread and waits for its result.
+     *
+     * @param task the task.
+     * @param <T>  the type of the result.
+     * @return the result.
+     * @throws Exception if the task fails.
+     */
+    static <T> T onEdt(final Callable<T> task) throws Exception {
+        Object[] result = new Object[1];
+        Exception[] error = new Exception[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                result[0] = task.call();
+            } catch (Exception e) {
+                error[0] = e;
+            }
+        });
+        if (error[0] != null) throw error[0];
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    /**
+     * Runs the iteration {@link #WARMUP} times and then measures {@link #ITERATIONS} runs.
+     *
+     * @param iteration the measured iteration.
+     * @return the average duration of an iteration in nanoseconds.
+     * @throws Exception if the iteration fails.
+     */
+    static double measure(final Iteration iteration) throws Exception {
+        return measure(WARMUP, ITERATIONS, iteration);
+    }
+
+    /**
+     * Runs the iteration the given number of times and then measures the given number of runs.
+     *
+     * @param warmup     the number of unmeasured runs.
+     * @param iterations the number of measured runs.
+     * @param iteration  the measured iteration.
+     * @return the average duration of an iteration in nanoseconds.
+     * @throws Exception if the iteration fails.
+     */
+    static double measure(final int warmup, final int iterations, final Iteration iteration) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            iteration.run(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            iteration.run(warmup + i);
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    static void report(final Logger logger, final String name, final double nanos) {
+        log(logger, String.format("%s: %.3f ms/iteration", name, nanos / 1e6));
+    }
+
+    /**
+     * Reports the duration of an iteration and the throughput of the items processed by an iteration.
+     *
+     * @param logger the logger of the benchmark.
+     * @param name   the name of the measurement.
+     * @param nanos  the average duration of an iteration.
+     * @param items  the number of items processed by an iteration.
+     * @param unit   the name of the items.
+     */
+    static void report(final Logger logger, final String name, final double nanos, final int items,
+                       final String unit) {
+        log(logger, String.format("%s: %.3f ms/iteration, %.0f %s/s", name, nanos / 1e6, items / (nanos / 1e9),
+                                  unit));
+    }
+
+    /*
+     * Attribute the message to the benchmark instead of the harness.
+     */
+    private static void log(final Logger logger, final String message) {
+        logger.logp(Level.INFO, logger.getName(), "main", message);
+    }
+
+    interface Iteration {
+
+        void run(int index) throws Exception;
+    }
+}
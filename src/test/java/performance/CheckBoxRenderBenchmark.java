@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.icons.IconAtlas;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.logging.Logger;
+
+/**
+ * Measures how long painting a table of boolean cells takes and how fast the check box icons are painted directly
+ * compared to painting them from an {@link IconAtlas}. Runs headless.
+ *
+ * @author Jannis Weis
+ */
+public final class CheckBoxRenderBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(CheckBoxRenderBenchmark.class.getName());
+    private static final int ROWS = 60;
+    private static final int COLUMNS = 3;
+    private static final int ICON_ITERATIONS = 20000;
+    private static final String[] ICON_KEYS = new String[]{
+            "CheckBox.unchecked.icon", "CheckBox.uncheckedFocused.icon", "CheckBox.selected.icon",
+            "CheckBox.selectedFocused.icon", "RadioButton.unchecked.icon", "RadioButton.selected.icon"
+    };
+
+    public static void main(final String[] args) throws Exception {
+        Benchmark.setupHeadless();
+        Benchmark.report(LOGGER, "Boolean table", Benchmark.onEdt(CheckBoxRenderBenchmark::runTable),
+                         ROWS * COLUMNS, "cells");
+        Icon[] icons = Benchmark.onEdt(() -> {
+            Icon[] result = new Icon[ICON_KEYS.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = UIManager.getIcon(ICON_KEYS[i]);
+            }
+            return result;
+        });
+        Benchmark.report(LOGGER, "Icons painted directly", Benchmark.onEdt(() -> runIcons(icons, null)),
+                         ICON_ITERATIONS, "icons");
+        Benchmark.report(LOGGER, "Icons painted from atlas",
+                         Benchmark.onEdt(() -> runIcons(icons, new IconAtlas(icons))), ICON_ITERATIONS, "icons");
+    }
+
+    static double runTable() throws Exception {
+        DefaultTableModel model = new DefaultTableModel(ROWS, COLUMNS) {
+            @Override
+            public Class<?> getColumnClass(final int columnIndex) {
+                return Boolean.class;
+            }
+        };
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                model.setValueAt((r + c) % 2 == 0, r, c);
+            }
+        }
+        JTable table = new JTable(model);
+        table.setSize(table.getPreferredSize());
+        table.doLayout();
+
+        BufferedImage image = new BufferedImage(table.getWidth(), table.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            return Benchmark.measure(i -> table.paint(g));
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /*
+     * A single iteration paints ICON_ITERATIONS icons.
+     */
+    static double runIcons(final Icon[] icons, final IconAtlas atlas) throws Exception {
+        JCheckBox c = new JCheckBox();
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            return Benchmark.measure(1, 1, iteration -> {
+                for (int i = 0; i < ICON_ITERATIONS; i++) {
+                    paintIcon(c, g, icons[i % icons.length], atlas);
+                }
+            });
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static void paintIcon(final Component c, final Graphics g, final Icon icon, final IconAtlas atlas) {
+        if (atlas != null) {
+            atlas.paintIcon(c, g, icon, 0, 0);
+        } else {
+            icon.paintIcon(c, g, 0, 0);
+        }
+    }
+}
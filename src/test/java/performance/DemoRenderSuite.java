@@ -0,0 +1,344 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.DarculaTheme;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.SolarizedDarkTheme;
+import com.github.weisj.darklaf.theme.SolarizedLightTheme;
+import com.github.weisj.darklaf.theme.Theme;
+import ui.ComponentDemo;
+import ui.button.ButtonDemo;
+import ui.button.ToggleButtonDemo;
+import ui.checkBox.CheckBoxDemo;
+import ui.checkBox.TriCheckBoxDemo;
+import ui.comboBox.ComboBoxDemo;
+import ui.list.ListDemo;
+import ui.progressBar.ProgressBarDemo;
+import ui.radioButton.RadioButtonDemo;
+import ui.scrollPane.OverlayScrollPaneDemo;
+import ui.scrollPane.ScrollPaneDemo;
+import ui.slider.SliderDemo;
+import ui.spinner.SpinnerDemo;
+import ui.splitPane.SplitPaneDemo;
+import ui.tabFrame.TabFrameDemo;
+import ui.tabbedPane.ClosableTabbedPaneDemo;
+import ui.internalFrame.MyInternalFrame;
+import ui.tabbedPane.TabbedPaneDemo;
+import ui.text.TextDemo;
+import ui.toolTip.ToolTipDemo;
+import ui.tree.TreeDemo;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Properties;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Paints the component tree of every {@link ComponentDemo} under every bundled {@link Theme} into offscreen images
+ * and records layout time, paint time, allocated bytes and a pixel checksum for each of them. Runs headless.
+ * <p>
+ * The demos which only provide a main method are wrapped to build the same content. The file chooser shows an empty
+ * directory, as its files are loaded in the background. Demos which need a window or the mouse pointer are left out,
+ * as neither is available in headless mode. These are the dialog demo, which opens its dialogs from a frame, the tool
+ * bar demo, whose UI creates the window for dragging the tool bar when it is installed, and the color chooser demo,
+ * whose sliders query the pointer location when they are resized.
+ * <p>
+ * If a file is passed as the first argument the results are compared against it when it exists, otherwise they are
+ * written to it to serve as the baseline for later runs. Checksum mismatches mean an optimization changed the
+ * rendered output. The suite exits with a nonzero code if a checksum doesn't match, a demo fails or a demo of the
+ * baseline is missing from the results.
+ *
+ * @author Jannis Weis
+ */
+public final class DemoRenderSuite {
+
+    private static final Logger LOGGER = Logger.getLogger(DemoRenderSuite.class.getName());
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+    private static final Dimension MIN_SIZE = new Dimension(200, 200);
+
+    private static final Theme[] THEMES = new Theme[]{
+            new DarculaTheme(), new IntelliJTheme(), new SolarizedDarkTheme(), new SolarizedLightTheme()
+    };
+
+    private static final Supplier<?>[] DEMOS = new Supplier<?>[]{
+            ButtonDemo::new, ToggleButtonDemo::new, CheckBoxDemo::new, TriCheckBoxDemo::new,
+            RadioButtonDemo::new, ComboBoxDemo::new, ListDemo::new, ProgressBarDemo::new,
+            ScrollPaneDemo::new, OverlayScrollPaneDemo::new, SliderDemo::new, SpinnerDemo::new,
+            SplitPaneDemo::new, TabbedPaneDemo::new, ClosableTabbedPaneDemo::new, TabFrameDemo::new,
+            ToolTipDemo::new, TreeDemo::new, TextDemo::new,
+            () -> new WrappedDemo("FileChooserDemo", DemoRenderSuite::createFileChooser),
+            () -> new WrappedDemo("InternalFrameDemo", DemoRenderSuite::createDesktop)
+    };
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    public static void main(final String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        File baselineFile = args.length > 0 ? new File(args[0]) : null;
+        Properties baseline = baselineFile != null && baselineFile.exists() ? load(baselineFile) : null;
+        Properties results = new Properties();
+        int[] mismatches = new int[1];
+
+        for (Theme theme : THEMES) {
+            SwingUtilities.invokeAndWait(() -> {
+                LafManager.install(theme);
+                for (Supplier<?> supplier : DEMOS) {
+                    ComponentDemo demo = (ComponentDemo) supplier.get();
+                    String name = demo instanceof WrappedDemo ? ((WrappedDemo) demo).name
+                                                              : demo.getClass().getSimpleName();
+                    String key = theme.getName() + "." + name;
+                    Result result;
+                    try {
+                        result = run(demo.createComponent());
+                    } catch (RuntimeException e) {
+                        LOGGER.warning(key + " failed: " + e);
+                        mismatches[0]++;
+                        continue;
+                    }
+                    result.store(key, results);
+                    String message = key + ": " + result;
+                    if (baseline != null) {
+                        String expected = baseline.getProperty(key + ".checksum");
+                        if (expected != null && !expected.equals(Long.toHexString(result.checksum))) {
+                            message += " CHECKSUM MISMATCH (baseline " + expected + ")";
+                            mismatches[0]++;
+                        } else {
+                            message += compareTime(baseline, key, result);
+                        }
+                    }
+                    LOGGER.info(message);
+                }
+            });
+        }
+
+        if (baselineFile != null && baseline == null) {
+            try (OutputStream out = new FileOutputStream(baselineFile)) {
+                results.store(out, "DemoRenderSuite baseline");
+            }
+            LOGGER.info("Baseline written to " + baselineFile);
+        } else if (baseline != null) {
+            for (String key : baseline.stringPropertyNames()) {
+                if (key.endsWith(".checksum") && !results.containsKey(key)) {
+                    LOGGER.warning(key.substring(0, key.length() - ".checksum".length()) + " missing from results");
+                    mismatches[0]++;
+                }
+            }
+            LOGGER.info(mismatches[0] + " mismatches against " + baselineFile);
+        }
+        System.exit(mismatches[0] == 0 ? 0 : 1);
+    }
+
+    private static JComponent createFileChooser() {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "darklaf-demo-render");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Can't create " + directory);
+        }
+        JFileChooser chooser = new JFileChooser(directory);
+        chooser.setMultiSelectionEnabled(true);
+        return chooser;
+    }
+
+    private static JComponent createDesktop() {
+        JDesktopPane desktop = new JDesktopPane();
+        desktop.setPreferredSize(new Dimension(500, 500));
+        JInternalFrame frame = new MyInternalFrame();
+        frame.setLocation(30, 30);
+        frame.setVisible(true);
+        desktop.add(frame);
+        return desktop;
+    }
+
+    static Result run(final JComponent component) {
+        Dimension size = component.getPreferredSize();
+        component.setSize(Math.max(size.width, MIN_SIZE.width), Math.max(size.height, MIN_SIZE.height));
+        layout(component);
+
+        long layoutTime = 0;
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            invalidate(component);
+            layout(component);
+            if (i >= WARMUP) layoutTime += System.nanoTime() - start;
+        }
+
+        BufferedImage image = new BufferedImage(component.getWidth(), component.getHeight(),
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            for (int i = 0; i < WARMUP; i++) {
+                component.paint(g);
+            }
+            long allocStart = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                component.paint(g);
+            }
+            long paintTime = System.nanoTime() - start;
+            long allocated = allocStart >= 0 ? allocatedBytes() - allocStart : -1;
+            return new Result(layoutTime / ITERATIONS, paintTime / ITERATIONS,
+                              allocated >= 0 ? allocated / ITERATIONS : -1, checksum(component));
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static long checksum(final JComponent component) {
+        BufferedImage image = new BufferedImage(component.getWidth(), component.getHeight(),
+                                                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            component.paint(g);
+        } finally {
+            g.dispose();
+        }
+        CRC32 crc = new CRC32();
+        int[] row = new int[image.getWidth()];
+        byte[] bytes = new byte[row.length * 4];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, row.length, 1, row, 0, row.length);
+            for (int x = 0; x < row.length; x++) {
+                int rgb = row[x];
+                bytes[4 * x] = (byte) (rgb >>> 24);
+                bytes[4 * x + 1] = (byte) (rgb >>> 16);
+                bytes[4 * x + 2] = (byte) (rgb >>> 8);
+                bytes[4 * x + 3] = (byte) rgb;
+            }
+            crc.update(bytes, 0, bytes.length);
+        }
+        return crc.getValue();
+    }
+
+    /*
+     * Headless components have no peer, hence validate() does nothing. Lay out the tree by hand instead.
+     */
+    private static void layout(final Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+
+    private static void invalidate(final Component component) {
+        component.invalidate();
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                invalidate(child);
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static String compareTime(final Properties baseline, final String key, final Result result) {
+        String expected = baseline.getProperty(key + ".paintNanos");
+        if (expected == null) return "";
+        double ratio = result.paintNanos / Math.max(1.0, Long.parseLong(expected));
+        return String.format(" (paint %.2fx baseline)", ratio);
+    }
+
+    private static Properties load(final File file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    /*
+     * Stands in for a demo which doesn't implement ComponentDemo.
+     */
+    private static final class WrappedDemo implements ComponentDemo {
+
+        private final String name;
+        private final Supplier<JComponent> factory;
+
+        private WrappedDemo(final String name, final Supplier<JComponent> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        @Override
+        public JComponent createComponent() {
+            return factory.get();
+        }
+
+        @Override
+        public String getTitle() {
+            return name;
+        }
+    }
+
+    private static final class Result {
+        private final long layoutNanos;
+        private final long paintNanos;
+        private final long allocatedBytes;
+        private final long checksum;
+
+        private Result(final long layoutNanos, final long paintNanos, final long allocatedBytes,
+                       final long checksum) {
+            this.layoutNanos = layoutNanos;
+            this.paintNanos = paintNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.checksum = checksum;
+        }
+
+        private void store(final String key, final Properties properties) {
+            properties.setProperty(key + ".layoutNanos", Long.toString(layoutNanos));
+            properties.setProperty(key + ".paintNanos", Long.toString(paintNanos));
+            properties.setProperty(key + ".allocatedBytes", Long.toString(allocatedBytes));
+            properties.setProperty(key + ".checksum", Long.toHexString(checksum));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("layout %d us, paint %d us, %d bytes/paint, checksum %08x",
+                                 layoutNanos / 1000, paintNanos / 1000, allocatedBytes, checksum);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.ui.html.DarkHTML;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.logging.Logger;
+
+/**
+ * Measures how fast a large list with html cells is rendered with and without the html view cache. The list has more
+ * distinct values than the cache holds. Scrolling paints a new page of the list in each iteration, repainting paints
+ * the same page again, as happens for selection and rollover changes. Runs headless.
+ *
+ * @author Jannis Weis
+ */
+public final class HtmlRendererBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(HtmlRendererBenchmark.class.getName());
+    private static final int ROWS = 10000;
+    private static final int DISTINCT_VALUES = 4 * DarkHTML.getViewCacheSize();
+    private static final int PAGE_ROWS = 30;
+
+    public static void main(final String[] args) throws Exception {
+        Benchmark.setupHeadless();
+        JList<String> list = Benchmark.onEdt(HtmlRendererBenchmark::createList);
+        for (boolean cached : new boolean[]{false, true}) {
+            String name = cached ? "Cached" : "Uncached";
+            Benchmark.report(LOGGER, name + " scrolling", Benchmark.onEdt(() -> run(list, cached, true)),
+                             PAGE_ROWS, "cells");
+            Benchmark.report(LOGGER, name + " repainting", Benchmark.onEdt(() -> run(list, cached, false)),
+                             PAGE_ROWS, "cells");
+        }
+    }
+
+    private static JList<String> createList() {
+        DefaultListModel<String> model = new DefaultListModel<>();
+        for (int i = 0; i < ROWS; i++) {
+            model.addElement("<html><b>Item</b> " + (i % DISTINCT_VALUES)
+                             + " <font color=\"gray\">(<i>description</i>)</font></html>");
+        }
+        JList<String> list = new JList<>(model);
+        list.setSize(list.getPreferredSize());
+        list.doLayout();
+        return list;
+    }
+
+    static double run(final JList<String> list, final boolean cached, final boolean scroll) throws Exception {
+        Component renderer = list.getCellRenderer().getListCellRendererComponent(list, "", 0, false, false);
+        if (renderer instanceof JComponent) {
+            ((JComponent) renderer).putClientProperty(DarkHTML.KEY_VIEW_CACHE, cached);
+        }
+        DarkHTML.clearViewCache();
+        int pageHeight = list.getCellBounds(0, PAGE_ROWS - 1).height;
+        int pages = ROWS / PAGE_ROWS;
+        BufferedImage image = new BufferedImage(list.getWidth(), pageHeight, BufferedImage.TYPE_INT_RGB);
+        return Benchmark.measure(i -> {
+            int y = scroll ? (i % pages) * pageHeight : 0;
+            Graphics2D g = image.createGraphics();
+            try {
+                g.translate(0, -y);
+                g.clipRect(0, y, list.getWidth(), pageHeight);
+                list.paint(g);
+            } finally {
+                g.dispose();
+            }
+        });
+    }
+}
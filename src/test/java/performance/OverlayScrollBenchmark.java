@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.components.OverlayScrollPane;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Measures the average frame time of scrolling a table one row at a time. Scrolling can only blit if the table is
+ * shown on screen, hence this benchmark needs a display.
+ *
+ * @author Jannis Weis
+ */
+public final class OverlayScrollBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(OverlayScrollBenchmark.class.getName());
+    private static final int ROWS = 2000;
+    private static final int COLUMNS = 20;
+    private static final int WARMUP = 200;
+    private static final int FRAMES = 1000;
+
+    public static void main(final String[] args) throws Exception {
+        if (!Benchmark.setupOnScreen(LOGGER)) return;
+        run("JScrollPane", JScrollPane::new);
+        run("OverlayScrollPane", OverlayScrollPane::new);
+        run("OverlayScrollPane (decoration mode)", table -> {
+            OverlayScrollPane scrollPane = new OverlayScrollPane(table);
+            scrollPane.setDecorationMode(true);
+            return scrollPane;
+        });
+    }
+
+    private static void run(final String name, final Function<JTable, JComponent> scrollPaneFactory)
+            throws Exception {
+        JFrame[] frame = new JFrame[1];
+        JViewport[] viewport = new JViewport[1];
+        SwingUtilities.invokeAndWait(() -> {
+            JTable table = new JTable(ROWS, COLUMNS);
+            JComponent scrollPane = scrollPaneFactory.apply(table);
+            frame[0] = new JFrame(name);
+            frame[0].setContentPane(scrollPane);
+            frame[0].setSize(800, 600);
+            frame[0].setVisible(true);
+            viewport[0] = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, table);
+        });
+        Thread.sleep(500);
+        double nanos = Benchmark.onEdt(() -> {
+            JViewport vp = viewport[0];
+            RepaintManager rm = RepaintManager.currentManager(vp);
+            int rowHeight = ((JTable) vp.getView()).getRowHeight();
+            try {
+                return Benchmark.measure(WARMUP, FRAMES, i -> scroll(vp, rm, i * rowHeight));
+            } finally {
+                frame[0].dispose();
+            }
+        });
+        Benchmark.report(LOGGER, name, nanos);
+    }
+
+    private static void scroll(final JViewport viewport, final RepaintManager rm, final int y) {
+        viewport.setViewPosition(new Point(0, y));
+        rm.paintDirtyRegions();
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
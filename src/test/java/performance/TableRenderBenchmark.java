@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.logging.Logger;
+
+/**
+ * Measures how many table cells can be rendered per second. Runs headless.
+ *
+ * @author Jannis Weis
+ */
+public final class TableRenderBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(TableRenderBenchmark.class.getName());
+    private static final int ROWS = 50;
+    private static final int COLUMNS = 60;
+
+    public static void main(final String[] args) throws Exception {
+        Benchmark.setupHeadless();
+        double nanos = Benchmark.onEdt(TableRenderBenchmark::run);
+        Benchmark.report(LOGGER, "Table", nanos, ROWS * COLUMNS, "cells");
+    }
+
+    static double run() throws Exception {
+        DefaultTableModel model = new DefaultTableModel(ROWS, COLUMNS);
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLUMNS; c++) {
+                model.setValueAt(c % 3 == 0 ? (Object) (r * c * 0.25) : "Cell " + r + ":" + c, r, c);
+            }
+        }
+        JTable table = new JTable(model);
+        table.putClientProperty("JTable.alternateRowColor", true);
+        table.setRowSelectionInterval(2, 10);
+        table.setSize(table.getPreferredSize());
+        table.doLayout();
+
+        BufferedImage image = new BufferedImage(table.getWidth(), table.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            return Benchmark.measure(i -> table.paint(g));
+        } finally {
+            g.dispose();
+        }
+    }
+}
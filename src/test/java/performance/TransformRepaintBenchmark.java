@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import org.jdesktop.jxlayer.JXLayer;
+import org.pbjar.jxlayer.plaf.ext.TransformUI;
+import org.pbjar.jxlayer.plaf.ext.transform.DefaultTransformModel;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.logging.Logger;
+
+/**
+ * Measures the average frame time of a rotated {@link JXLayer} whose view contains many animated children spread over
+ * the whole view. Repaint requests are only propagated for showing components, hence this benchmark needs a display.
+ *
+ * @author Jannis Weis
+ */
+public final class TransformRepaintBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(TransformRepaintBenchmark.class.getName());
+    private static final int ROWS = 30;
+    private static final int COLUMNS = 30;
+    private static final int ANIMATED_PER_FRAME = 8;
+    private static final int WARMUP = 100;
+    private static final int FRAMES = 500;
+
+    public static void main(final String[] args) throws Exception {
+        if (!Benchmark.setupOnScreen(LOGGER)) return;
+        run("No coalescing", 0);
+        run("Merge factor " + TransformUI.DEFAULT_DIRTY_REGION_MERGE_FACTOR,
+            TransformUI.DEFAULT_DIRTY_REGION_MERGE_FACTOR);
+        run("Merge factor 8", 8);
+    }
+
+    private static void run(final String name, final double mergeFactor) throws Exception {
+        JFrame[] frame = new JFrame[1];
+        JLabel[] labels = new JLabel[ROWS * COLUMNS];
+        SwingUtilities.invokeAndWait(() -> {
+            JPanel panel = new JPanel(new GridLayout(ROWS, COLUMNS));
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = new JLabel(String.valueOf(i));
+                labels[i].setOpaque(true);
+                panel.add(labels[i]);
+            }
+            DefaultTransformModel model = new DefaultTransformModel();
+            model.setRotation(Math.toRadians(20));
+            TransformUI ui = new TransformUI(model);
+            ui.setDirtyRegionMergeFactor(mergeFactor);
+            frame[0] = new JFrame(name);
+            frame[0].setContentPane(new JXLayer<>(panel, ui));
+            frame[0].setSize(1000, 800);
+            frame[0].setVisible(true);
+        });
+        Thread.sleep(500);
+        RepaintManager rm = RepaintManager.currentManager(labels[0]);
+        double nanos = Benchmark.measure(WARMUP, FRAMES, i -> frame(labels, rm, i));
+        Benchmark.report(LOGGER, name, nanos);
+        SwingUtilities.invokeAndWait(() -> frame[0].dispose());
+    }
+
+    private static void frame(final JLabel[] labels, final RepaintManager rm, final int frame) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            // Spread the animated labels over the whole view.
+            int step = labels.length / ANIMATED_PER_FRAME;
+            for (int i = 0; i < ANIMATED_PER_FRAME; i++) {
+                JLabel label = labels[(i * step + frame) % labels.length];
+                label.setBackground(frame % 2 == 0 ? Color.RED : Color.BLUE);
+            }
+        });
+        // Let the coalesced regions be flushed before painting.
+        SwingUtilities.invokeAndWait(() -> {});
+        SwingUtilities.invokeAndWait(() -> {
+            rm.paintDirtyRegions();
+            Toolkit.getDefaultToolkit().sync();
+        });
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package performance;
+
+import com.github.weisj.darklaf.ui.tree.DarkTreeUI;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeCellRenderer;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.logging.Logger;
+
+/**
+ * Measures how fast the rows of a tree are rendered with and without the render value cache. A tree with a custom
+ * {@link JTree#convertValueToText(Object, boolean, boolean, boolean, int, boolean)} is included to check that the
+ * conversion is applied exactly once to the node itself. Runs headless.
+ *
+ * @author Jannis Weis
+ */
+public final class TreeRenderBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(TreeRenderBenchmark.class.getName());
+    private static final int CHILDREN = 40;
+    private static final int GRAND_CHILDREN = 10;
+
+    public static void main(final String[] args) throws Exception {
+        Benchmark.setupHeadless();
+        run("Uncached", new JTree(createRoot()), false);
+        run("Cached", new JTree(createRoot()), true);
+        JTree decorated = new JTree(createRoot()) {
+            @Override
+            public String convertValueToText(final Object value, final boolean selected, final boolean expanded,
+                                             final boolean leaf, final int row, final boolean hasFocus) {
+                // Fails if the renderer passes anything but the node.
+                return "* " + ((DefaultMutableTreeNode) value).getUserObject();
+            }
+        };
+        run("Cached with custom text", decorated, true);
+    }
+
+    private static void run(final String name, final JTree tree, final boolean cached) throws Exception {
+        double nanos = Benchmark.onEdt(() -> {
+            tree.putClientProperty(DarkTreeUI.RENDER_VALUE_CACHE_KEY, cached);
+            for (int i = 0; i < tree.getRowCount(); i++) {
+                tree.expandRow(i);
+            }
+            checkText(tree);
+            tree.setSize(tree.getPreferredSize());
+            tree.doLayout();
+
+            BufferedImage image = new BufferedImage(tree.getWidth(), tree.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                return Benchmark.measure(i -> tree.paint(g));
+            } finally {
+                g.dispose();
+            }
+        });
+        Benchmark.report(LOGGER, name, nanos, tree.getRowCount(), "rows");
+    }
+
+    private static void checkText(final JTree tree) {
+        Object root = tree.getModel().getRoot();
+        String expected = tree.convertValueToText(root, false, true, false, 0, false);
+        TreeCellRenderer renderer = tree.getCellRenderer();
+        for (int i = 0; i < 2; i++) {
+            // The second call is answered by the cache.
+            Component c = renderer.getTreeCellRendererComponent(tree, root, false, true, false, 0, false);
+            String text = c instanceof JLabel ? ((JLabel) c).getText() : expected;
+            if (!expected.equals(text)) {
+                throw new IllegalStateException("Rendered '" + text + "' instead of '" + expected + "'");
+            }
+        }
+    }
+
+    private static DefaultMutableTreeNode createRoot() {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("root");
+        for (int i = 0; i < CHILDREN; i++) {
+            DefaultMutableTreeNode child = new DefaultMutableTreeNode("Node " + i);
+            for (int j = 0; j < GRAND_CHILDREN; j++) {
+                child.add(new DefaultMutableTreeNode("Node " + i + "." + j));
+            }
+            root.add(child);
+        }
+        return root;
+    }
+}